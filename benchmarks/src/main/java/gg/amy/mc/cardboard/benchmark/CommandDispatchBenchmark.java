@@ -0,0 +1,89 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Counter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches commands through
+ * {@link gg.amy.mc.cardboard.command.CardboardCommand#execute(CommandSender, String, String[])},
+ * the way the server does when a player runs one: permission checks,
+ * routing, argument parsing, getting an instance, and calling the handler.
+ * The sender is a {@link java.lang.reflect.Proxy}, so every permission check
+ * costs a little more than it would on a real server.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CommandDispatchBenchmark {
+    private final String[] none = {};
+    private final String[] info = {"info", "Builders"};
+    private final String[] deposit = {"deposit", "250"};
+    private final String[] promote = {"member", "promote", "player123", "2"};
+    private CommandSender sender;
+    private Command ping;
+    private Command freshPing;
+    private Command guild;
+    private Counter counter;
+    
+    @Setup
+    public void setup() {
+        sender = Headless.sender().commandSender();
+        ping = Headless.command("ping");
+        freshPing = Headless.command("freshping");
+        guild = Headless.command("guild");
+        counter = Headless.plugin().getComponent(Counter.class).orElseThrow();
+    }
+    
+    /**
+     * A singleton command without subcommands.
+     */
+    @Benchmark
+    public long noSubcommands() {
+        ping.execute(sender, "ping", none);
+        return counter.count();
+    }
+    
+    /**
+     * A command without subcommands that's created and injected for every
+     * call.
+     */
+    @Benchmark
+    public long noSubcommandsPrototype() {
+        freshPing.execute(sender, "freshping", none);
+        return counter.count();
+    }
+    
+    @Benchmark
+    public long defaultHandler() {
+        guild.execute(sender, "guild", none);
+        return counter.count();
+    }
+    
+    @Benchmark
+    public long subcommand() {
+        guild.execute(sender, "guild", info);
+        return counter.count();
+    }
+    
+    @Benchmark
+    public long subcommandIntArgument() {
+        guild.execute(sender, "guild", deposit);
+        return counter.count();
+    }
+    
+    @Benchmark
+    public long nestedSubcommand() {
+        guild.execute(sender, "guild", promote);
+        return counter.count();
+    }
+}
@@ -0,0 +1,88 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Counter;
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Economy;
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Quests;
+import gg.amy.mc.cardboard.benchmark.plugin.Wide;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves components with {@link Cardboard#getComponent(Class)}, and
+ * injects the many fields of {@link Wide}, in a plugin with a realistic
+ * number of components.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ComponentBenchmark {
+    private Cardboard plugin;
+    private Wide wide;
+    
+    @Setup
+    public void setup() {
+        plugin = Headless.plugin();
+        wide = new Wide();
+    }
+    
+    @Benchmark
+    public Optional<Counter> single() {
+        return plugin.getComponent(Counter.class);
+    }
+    
+    /**
+     * A singleton that depends on several others.
+     */
+    @Benchmark
+    public Optional<Quests> singleWithDependencies() {
+        return plugin.getComponent(Quests.class);
+    }
+    
+    /**
+     * A singleton looked up by the interface it implements.
+     */
+    @Benchmark
+    public Optional<Economy> byInterface() {
+        return plugin.getComponent(Economy.class);
+    }
+    
+    /**
+     * An instanced component, which is created and injected every time.
+     */
+    @Benchmark
+    public Optional<Wide> instanced() {
+        return plugin.getComponent(Wide.class);
+    }
+    
+    @Benchmark
+    public Optional<String> missing() {
+        return plugin.getComponent(String.class);
+    }
+    
+    /**
+     * Injects 16 {@link gg.amy.mc.cardboard.di.Auto} fields.
+     */
+    @Benchmark
+    public Wide injectComponents() {
+        plugin.injectComponents(wide);
+        return wide;
+    }
+    
+    /**
+     * Injects 16 {@link gg.amy.mc.cardboard.config.Config} fields.
+     */
+    @Benchmark
+    public Wide injectConfig() {
+        plugin.injectConfig(wide);
+        return wide;
+    }
+}
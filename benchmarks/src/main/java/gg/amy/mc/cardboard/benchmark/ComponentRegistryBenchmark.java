@@ -0,0 +1,96 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.component.ComponentProvider;
+import gg.amy.mc.cardboard.component.ComponentRegistry;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up components in a {@link ComponentRegistry} of increasing size.
+ * Plugins don't have classes with deep enough hierarchies to fill a large
+ * registry realistically, so the components are public classes from the
+ * JDK.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ComponentRegistryBenchmark {
+    private static final int TARGETS = 1024;
+    
+    @Param({"16", "256", "2048"})
+    private int size;
+    
+    private List<Class<?>> classes;
+    private ComponentRegistry registry;
+    private Class<?>[] targets;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        final List<Class<?>> all = new ArrayList<>();
+        try(final ScanResult result = new ClassGraph().enableSystemJarsAndModules().enableClassInfo()
+                .acceptPackages("java").scan()) {
+            for(final ClassInfo info : result.getAllStandardClasses()) {
+                if(info.isPublic() && !info.isAbstract() && !info.isInnerClass()) {
+                    all.add(info.loadClass(true));
+                }
+            }
+        }
+        all.removeIf(Objects::isNull);
+        if(all.size() < size) {
+            throw new IllegalStateException("Only found " + all.size() + " classes, need " + size);
+        }
+        Collections.shuffle(all, new Random(42));
+        classes = all.subList(0, size);
+        registry = build(classes);
+        final Random random = new Random(42);
+        targets = new Class<?>[TARGETS];
+        for(int i = 0; i < TARGETS; i++) {
+            targets[i] = classes.get(random.nextInt(size));
+        }
+    }
+    
+    private static ComponentRegistry build(final List<Class<?>> classes) {
+        final ComponentRegistry registry = new ComponentRegistry();
+        for(final Class<?> cls : classes) {
+            registry.register(cls, true, ctx -> cls);
+        }
+        registry.build();
+        return registry;
+    }
+    
+    @Benchmark
+    public ComponentProvider lookup() {
+        next = (next + 1) & (TARGETS - 1);
+        return registry.lookup(targets[next]);
+    }
+    
+    @Benchmark
+    public ComponentProvider lookupMissing() {
+        return registry.lookup(ComponentRegistryBenchmark.class);
+    }
+    
+    /**
+     * Building the registry is part of startup.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ComponentRegistry build() {
+        return build(classes);
+    }
+}
@@ -0,0 +1,95 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.event.EventExecutors;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling an {@link EventHandler} method the way Bukkit's own
+ * executors do, with {@link Method#invoke(Object, Object...)}, with the
+ * executors from {@link EventExecutors}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EventExecutorBenchmark {
+    private final MoveListener listener = new MoveListener();
+    private final MoveEvent event = new MoveEvent();
+    private EventExecutor reflective;
+    private EventExecutor generated;
+    
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Method method = MoveListener.class.getDeclaredMethod("onMove", MoveEvent.class);
+        method.setAccessible(true);
+        // What Bukkit's JavaPluginLoader does
+        reflective = (l, e) -> {
+            try {
+                if(!MoveEvent.class.isAssignableFrom(e.getClass())) {
+                    return;
+                }
+                method.invoke(l, e);
+            } catch(final InvocationTargetException ex) {
+                throw new EventException(ex.getCause());
+            } catch(final Throwable t) {
+                throw new EventException(t);
+            }
+        };
+        generated = EventExecutors.create(method, MoveEvent.class, null);
+    }
+    
+    @Benchmark
+    public long reflective() throws EventException {
+        reflective.execute(listener, event);
+        return listener.moves;
+    }
+    
+    @Benchmark
+    public long generated() throws EventException {
+        generated.execute(listener, event);
+        return listener.moves;
+    }
+    
+    @Benchmark
+    public long direct() {
+        listener.onMove(event);
+        return listener.moves;
+    }
+    
+    public static final class MoveEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+        
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+        
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+    }
+    
+    public static final class MoveListener implements Listener {
+        private long moves;
+        
+        @EventHandler
+        private void onMove(final MoveEvent event) {
+            moves++;
+        }
+    }
+}
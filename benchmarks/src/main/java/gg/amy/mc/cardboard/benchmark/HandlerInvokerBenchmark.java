@@ -0,0 +1,65 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.command.HandlerInvokers;
+import gg.amy.mc.cardboard.command.HandlerInvokers.LegacyHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling a {@code (String, String[])} subcommand handler through
+ * {@link Method#invoke(Object, Object...)}, the way cardboard used to, with
+ * the generated invokers from {@link HandlerInvokers}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HandlerInvokerBenchmark {
+    private final Handler handler = new Handler();
+    private final String joined = "player123 some reason";
+    private final String[] args = {"player123", "some", "reason"};
+    private Method method;
+    private LegacyHandler generated;
+    
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = Handler.class.getDeclaredMethod("kick", String.class, String[].class);
+        method.setAccessible(true);
+        generated = HandlerInvokers.legacy(method);
+    }
+    
+    @Benchmark
+    public void reflective(final Blackhole bh) throws InvocationTargetException, IllegalAccessException {
+        method.invoke(handler, joined, args);
+        bh.consume(handler.calls);
+    }
+    
+    @Benchmark
+    public void generated(final Blackhole bh) {
+        generated.handle(handler, joined, args);
+        bh.consume(handler.calls);
+    }
+    
+    @Benchmark
+    public void direct(final Blackhole bh) {
+        handler.kick(joined, args);
+        bh.consume(handler.calls);
+    }
+    
+    public static final class Handler {
+        private long calls;
+        
+        private void kick(final String joined, final String[] args) {
+            calls += args.length;
+        }
+    }
+}
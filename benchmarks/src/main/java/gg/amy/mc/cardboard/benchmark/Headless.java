@@ -0,0 +1,195 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.benchmark.plugin.BenchmarkPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Just enough of a Bukkit server, made of {@link Proxy proxies}, to load and
+ * enable {@link BenchmarkPlugin} without a real one. Anything a benchmark
+ * doesn't need returns {@code null}, {@code 0}, or {@code false}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class Headless {
+    private static final Logger LOGGER = Logger.getLogger("Headless");
+    private static final Map<String, Command> COMMANDS = new ConcurrentHashMap<>();
+    private static BenchmarkPlugin plugin;
+    
+    static {
+        // Plugins log every component they load, which would drown out JMH.
+        final ConsoleHandler handler = new ConsoleHandler();
+        handler.setLevel(Level.WARNING);
+        LOGGER.setUseParentHandlers(false);
+        LOGGER.addHandler(handler);
+    }
+    
+    private Headless() {
+    }
+    
+    /**
+     * @return The benchmark plugin, loaded and enabled. It's only created
+     * once per JVM.
+     */
+    public static synchronized BenchmarkPlugin plugin() {
+        if(plugin == null) {
+            try {
+                final Path dataFolder = Files.createTempDirectory("cardboard-benchmark");
+                try(final InputStream in = Headless.class.getResourceAsStream("/benchmark-config.yml")) {
+                    Files.copy(in, dataFolder.resolve("config.yml"));
+                }
+                final BenchmarkPlugin created = new BenchmarkPlugin(new JavaPluginLoader(server()),
+                        new PluginDescriptionFile("Benchmark", "1.0", BenchmarkPlugin.class.getName()),
+                        dataFolder.toFile(), dataFolder.resolve("Benchmark.jar").toFile());
+                created.onLoad();
+                created.onEnable();
+                plugin = created;
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return plugin;
+    }
+    
+    /**
+     * @param name The name of a command registered by {@link #plugin()}.
+     *
+     * @return The command.
+     */
+    public static Command command(final String name) {
+        plugin();
+        final Command command = COMMANDS.get(name);
+        if(command == null) {
+            throw new IllegalArgumentException("No command named " + name);
+        }
+        return command;
+    }
+    
+    /**
+     * @return A sender that has every permission, and counts the messages
+     * it's sent instead of showing them anywhere.
+     */
+    public static Sender sender() {
+        return new Sender();
+    }
+    
+    private static synchronized Server server() {
+        if(Bukkit.getServer() == null) {
+            final CommandMap commandMap = proxy(CommandMap.class, (p, method, args) -> {
+                if(method.getName().equals("register") && args.length == 3) {
+                    final Command command = (Command) args[2];
+                    return COMMANDS.putIfAbsent(command.getName(), command) == null;
+                }
+                return defaultValue(p, method, args);
+            });
+            final PluginManager pluginManager = proxy(PluginManager.class, Headless::defaultValue);
+            Bukkit.setServer(proxy(HeadlessServer.class, (p, method, args) -> switch(method.getName()) {
+                case "getLogger" -> LOGGER;
+                case "getName" -> "Headless";
+                case "getVersion", "getBukkitVersion" -> "benchmark";
+                case "isPrimaryThread" -> true;
+                case "getCommandMap" -> commandMap;
+                case "getPluginManager" -> pluginManager;
+                default -> defaultValue(p, method, args);
+            }));
+        }
+        return Bukkit.getServer();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(Headless.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+    
+    private static Object defaultValue(final Object proxy, final Method method, final Object[] args) {
+        switch(method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return method.getDeclaringClass().getSimpleName() + "@" + Integer.toHexString(proxy.hashCode());
+            default:
+                break;
+        }
+        final Class<?> type = method.getReturnType();
+        if(type == boolean.class) {
+            return false;
+        } else if(type == int.class) {
+            return 0;
+        } else if(type == long.class) {
+            return 0L;
+        } else if(type == double.class) {
+            return 0D;
+        } else if(type == float.class) {
+            return 0F;
+        } else if(type == short.class) {
+            return (short) 0;
+        } else if(type == byte.class) {
+            return (byte) 0;
+        } else if(type == char.class) {
+            return '\0';
+        } else {
+            return null;
+        }
+    }
+    
+    /**
+     * Spigot's {@link Server} doesn't expose the command map, but
+     * {@link gg.amy.mc.cardboard.command.BukkitCommandInjector} looks for a
+     * {@code getCommandMap()} method first.
+     */
+    public interface HeadlessServer extends Server {
+        CommandMap getCommandMap();
+    }
+    
+    /**
+     * A {@link CommandSender} with every permission.
+     */
+    public static final class Sender implements InvocationHandler {
+        private final CommandSender commandSender = proxy(CommandSender.class, this);
+        private long messages;
+        
+        public CommandSender commandSender() {
+            return commandSender;
+        }
+        
+        public long messages() {
+            return messages;
+        }
+        
+        @Override
+        public Object invoke(final Object p, final Method method, final Object[] args) {
+            return switch(method.getName()) {
+                case "sendMessage" -> {
+                    messages++;
+                    yield null;
+                }
+                case "hasPermission", "isOp", "isPermissionSet" -> true;
+                case "getName" -> "Benchmark";
+                default -> defaultValue(p, method, args);
+            };
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.benchmark.Headless.Sender;
+import gg.amy.mc.cardboard.util.MessageTemplate;
+import gg.amy.mc.cardboard.util.MessageUtil;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends messages with {@link MessageUtil#sendMessage(CommandSender, String...)}
+ * and {@link MessageTemplate}. The sender is a {@link java.lang.reflect.Proxy};
+ * {@link #baseline()} sends without either, to show how much of the time
+ * that is.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MessageUtilBenchmark {
+    private static final int ONLINE = 100;
+    
+    private final String plain = "You don't have permission to do that!";
+    private final String coloured = "&8[&6Guilds&8] &7You invited &fplayer123 &7to &6Builders&7.";
+    private final String[] several = {
+            "&6Builders &7(25 members)",
+            "&7Leader: &fplayer123",
+            "&7Balance: &a$12,500",
+            "&7Home: &fworld &7(120, 64, -340)",
+    };
+    private final MessageTemplate template = MessageTemplate.compile(
+            "&8[&6Guilds&8] &7You invited &f{player} &7to &6{guild}&7.");
+    private final MessageTemplate countdown = MessageTemplate.compile("&#ff8800Starting in &f{seconds}&#ff8800...");
+    private final Map<String, Object> values = Map.of("player", "player123", "guild", "Builders");
+    private Sender headless;
+    private CommandSender sender;
+    private List<CommandSender> online;
+    private int seconds;
+    
+    @Setup
+    public void setup() {
+        headless = Headless.sender();
+        sender = headless.commandSender();
+        online = new ArrayList<>();
+        for(int i = 0; i < ONLINE; i++) {
+            online.add(sender);
+        }
+    }
+    
+    @Benchmark
+    public long baseline() {
+        sender.sendMessage(coloured);
+        return headless.messages();
+    }
+    
+    @Benchmark
+    public long plain() {
+        MessageUtil.sendMessage(sender, plain);
+        return headless.messages();
+    }
+    
+    @Benchmark
+    public long coloured() {
+        MessageUtil.sendMessage(sender, coloured);
+        return headless.messages();
+    }
+    
+    @Benchmark
+    public long severalLines() {
+        MessageUtil.sendMessage(sender, several);
+        return headless.messages();
+    }
+    
+    /**
+     * The same message as {@link #coloured()}, with its names filled in by a
+     * template.
+     */
+    @Benchmark
+    public long template() {
+        template.send(sender, values);
+        return headless.messages();
+    }
+    
+    /**
+     * A countdown sent to everyone online, once per second of it.
+     */
+    @Benchmark
+    public long broadcastCountdown() {
+        seconds = seconds == 0 ? 10 : seconds - 1;
+        countdown.broadcast(online, "seconds", seconds);
+        return headless.messages();
+    }
+    
+    /**
+     * Like {@link #broadcastCountdown()}, but colour translating and
+     * concatenating for every player.
+     */
+    @Benchmark
+    public long sendMessageCountdown() {
+        seconds = seconds == 0 ? 10 : seconds - 1;
+        for(final CommandSender player : online) {
+            MessageUtil.sendMessage(player, "&#ff8800Starting in &f" + seconds + "&#ff8800...");
+        }
+        return headless.messages();
+    }
+}
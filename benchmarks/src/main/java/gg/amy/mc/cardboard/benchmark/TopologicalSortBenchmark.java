@@ -0,0 +1,52 @@
+package gg.amy.mc.cardboard.benchmark;
+
+import gg.amy.mc.cardboard.util.DirectedGraph;
+import gg.amy.mc.cardboard.util.TopologicalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts random dependency graphs with {@link TopologicalSort}, the way
+ * {@link gg.amy.mc.cardboard.component.Single} components are ordered at
+ * startup. Every node depends on up to three nodes added before it.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TopologicalSortBenchmark {
+    private static final int MAX_DEPENDENCIES = 3;
+    
+    @Param({"100", "1000", "10000"})
+    private int nodes;
+    
+    private DirectedGraph<Integer> graph;
+    
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        graph = new DirectedGraph<>();
+        for(int i = 0; i < nodes; i++) {
+            graph.addNode(i);
+            if(i > 0) {
+                final int dependencies = random.nextInt(MAX_DEPENDENCIES + 1);
+                for(int j = 0; j < dependencies; j++) {
+                    graph.addEdge(i, random.nextInt(i));
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public List<Integer> sort() {
+        return TopologicalSort.sort(graph);
+    }
+}
@@ -0,0 +1,21 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+
+/**
+ * A plugin with a realistic number of components and commands, for
+ * benchmarks to load and enable outside of a server.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public class BenchmarkPlugin extends Cardboard {
+    public BenchmarkPlugin(final JavaPluginLoader loader, final PluginDescriptionFile description,
+                           final File dataFolder, final File file) {
+        super(loader, description, dataFolder, file);
+    }
+}
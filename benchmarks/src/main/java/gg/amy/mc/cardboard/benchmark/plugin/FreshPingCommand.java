@@ -0,0 +1,24 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.command.CommandContext;
+import gg.amy.mc.cardboard.command.Default;
+import gg.amy.mc.cardboard.di.Auto;
+
+/**
+ * A command without subcommands that gets a new instance, and a new
+ * {@link Wide} to go with it, for every call.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Command(name = "freshping", usage = "/freshping", permissionNode = "benchmark.freshping")
+public class FreshPingCommand {
+    @Auto
+    private Wide wide;
+    
+    @Default
+    public void ping(final CommandContext ctx) {
+        wide.counter().add(wide.maxMembers());
+    }
+}
@@ -0,0 +1,78 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Counter;
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Economy;
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.command.CommandContext;
+import gg.amy.mc.cardboard.command.CommandScope;
+import gg.amy.mc.cardboard.command.Default;
+import gg.amy.mc.cardboard.command.Subcommand;
+import gg.amy.mc.cardboard.di.Auto;
+
+/**
+ * A command with a typical spread of subcommands, some of them nested.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Command(name = "guild", usage = "/guild <subcommand>", permissionNode = "benchmark.guild",
+        scope = CommandScope.SINGLETON)
+public class GuildCommand {
+    @Auto
+    private Counter counter;
+    @Auto
+    private Economy economy;
+    
+    @Default
+    public void help(final CommandContext ctx) {
+        counter.add(1);
+    }
+    
+    @Subcommand(value = "create", usage = "/guild create <name>", permissionNode = "benchmark.guild.create")
+    public void create(final CommandContext ctx, final String name) {
+        counter.add(name.length());
+    }
+    
+    @Subcommand(value = "disband", usage = "/guild disband", permissionNode = "benchmark.guild.disband")
+    public void disband(final CommandContext ctx) {
+        counter.add(1);
+    }
+    
+    @Subcommand(value = "info", usage = "/guild info <name>", permissionNode = "benchmark.guild.info")
+    public void info(final CommandContext ctx, final String name) {
+        counter.add(economy.balance(name));
+    }
+    
+    @Subcommand(value = "invite", usage = "/guild invite <player>", permissionNode = "benchmark.guild.invite")
+    public void invite(final CommandContext ctx, final String player) {
+        counter.add(player.length());
+    }
+    
+    @Subcommand(value = "deposit", usage = "/guild deposit <amount>", permissionNode = "benchmark.guild.deposit")
+    public void deposit(final CommandContext ctx, final int amount) {
+        counter.add(amount);
+    }
+    
+    @Subcommand(value = "member promote", usage = "/guild member promote <player> <rank>",
+            permissionNode = "benchmark.guild.member.promote")
+    public void promote(final CommandContext ctx, final String player, final int rank) {
+        counter.add(rank);
+    }
+    
+    @Subcommand(value = "member demote", usage = "/guild member demote <player>",
+            permissionNode = "benchmark.guild.member.demote")
+    public void demote(final CommandContext ctx, final String player) {
+        counter.add(player.length());
+    }
+    
+    @Subcommand(value = "member kick", usage = "/guild member kick <player>",
+            permissionNode = "benchmark.guild.member.kick")
+    public void kick(final CommandContext ctx, final String player) {
+        counter.add(player.length());
+    }
+    
+    @Subcommand(value = "member list", usage = "/guild member list", permissionNode = "benchmark.guild.member.list")
+    public void list(final CommandContext ctx) {
+        counter.add(1);
+    }
+}
@@ -0,0 +1,25 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.benchmark.plugin.Services.Counter;
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.command.CommandContext;
+import gg.amy.mc.cardboard.command.CommandScope;
+import gg.amy.mc.cardboard.command.Default;
+import gg.amy.mc.cardboard.di.Auto;
+
+/**
+ * A command without subcommands.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Command(name = "ping", usage = "/ping", permissionNode = "benchmark.ping", scope = CommandScope.SINGLETON)
+public class PingCommand {
+    @Auto
+    private Counter counter;
+    
+    @Default
+    public void ping(final CommandContext ctx) {
+        counter.add(1);
+    }
+}
@@ -0,0 +1,116 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.component.Component;
+import gg.amy.mc.cardboard.component.Single;
+
+/**
+ * The sort of singletons a large plugin has, with dependencies between them.
+ * They don't do anything; only their number and shape matter.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class Services {
+    private Services() {
+    }
+    
+    public interface Economy {
+        long balance(String player);
+    }
+    
+    /**
+     * Counts handler calls, so that the JIT can't throw them away.
+     */
+    @Component(name = "Counter", description = "Counts handler calls.")
+    @Single
+    public static final class Counter {
+        private long count;
+        
+        public void add(final long n) {
+            count += n;
+        }
+        
+        public long count() {
+            return count;
+        }
+    }
+    
+    @Component(name = "Storage", description = "Storage.")
+    @Single
+    public static final class Storage {
+    }
+    
+    @Component(name = "Economy", description = "Economy.")
+    @Single(Storage.class)
+    public static final class EconomyService implements Economy {
+        @Override
+        public long balance(final String player) {
+            return player.length();
+        }
+    }
+    
+    @Component(name = "Guilds", description = "Guilds.")
+    @Single({Storage.class, EconomyService.class})
+    public static final class Guilds {
+    }
+    
+    @Component(name = "Chat", description = "Chat.")
+    @Single
+    public static final class Chat {
+    }
+    
+    @Component(name = "Scoreboards", description = "Scoreboards.")
+    @Single
+    public static final class Scoreboards {
+    }
+    
+    @Component(name = "Teleports", description = "Teleports.")
+    @Single
+    public static final class Teleports {
+    }
+    
+    @Component(name = "Warps", description = "Warps.")
+    @Single({Storage.class, Teleports.class})
+    public static final class Warps {
+    }
+    
+    @Component(name = "Homes", description = "Homes.")
+    @Single({Storage.class, Teleports.class})
+    public static final class Homes {
+    }
+    
+    @Component(name = "Kits", description = "Kits.")
+    @Single({Storage.class, EconomyService.class})
+    public static final class Kits {
+    }
+    
+    @Component(name = "Punishments", description = "Punishments.")
+    @Single(Storage.class)
+    public static final class Punishments {
+    }
+    
+    @Component(name = "Leaderboards", description = "Leaderboards.")
+    @Single({Storage.class, Scoreboards.class, EconomyService.class})
+    public static final class Leaderboards {
+    }
+    
+    @Component(name = "Sessions", description = "Sessions.")
+    @Single
+    public static final class Sessions {
+    }
+    
+    @Component(name = "Localisation", description = "Localisation.")
+    @Single
+    public static final class Localisation {
+    }
+    
+    @Component(name = "Audits", description = "Audits.")
+    @Single({Storage.class, Punishments.class})
+    public static final class Audits {
+    }
+    
+    @Component(name = "Quests", description = "Quests.")
+    @Single({Storage.class, Kits.class, Leaderboards.class})
+    public static final class Quests {
+    }
+}
@@ -0,0 +1,92 @@
+package gg.amy.mc.cardboard.benchmark.plugin;
+
+import gg.amy.mc.cardboard.benchmark.plugin.Services.*;
+import gg.amy.mc.cardboard.component.Component;
+import gg.amy.mc.cardboard.config.Config;
+import gg.amy.mc.cardboard.di.Auto;
+
+import java.util.List;
+
+/**
+ * An instanced component with a lot of fields to inject, like a command or
+ * listener in a large plugin.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Component(name = "Wide", description = "Has a lot of fields.")
+public class Wide {
+    @Auto
+    private Counter counter;
+    @Auto
+    private Storage storage;
+    @Auto
+    private Economy economy;
+    @Auto
+    private Guilds guilds;
+    @Auto
+    private Chat chat;
+    @Auto
+    private Scoreboards scoreboards;
+    @Auto
+    private Teleports teleports;
+    @Auto
+    private Warps warps;
+    @Auto
+    private Homes homes;
+    @Auto
+    private Kits kits;
+    @Auto
+    private Punishments punishments;
+    @Auto
+    private Leaderboards leaderboards;
+    @Auto
+    private Sessions sessions;
+    @Auto
+    private Localisation localisation;
+    @Auto
+    private Audits audits;
+    @Auto
+    private Quests quests;
+    
+    @Config("wide.name")
+    private String name;
+    @Config(value = "wide.prefix", coloured = true)
+    private String prefix;
+    @Config("wide.enabled")
+    private boolean enabled;
+    @Config("wide.max-members")
+    private int maxMembers;
+    @Config("wide.max-guilds")
+    private int maxGuilds;
+    @Config("wide.invite-expiry")
+    private long inviteExpiry;
+    @Config("wide.tax-rate")
+    private double taxRate;
+    @Config("wide.create-cost")
+    private double createCost;
+    @Config("wide.motd")
+    private String motd;
+    @Config("wide.chat-format")
+    private String chatFormat;
+    @Config("wide.blocked-names")
+    private List<String> blockedNames;
+    @Config("wide.worlds")
+    private List<String> worlds;
+    @Config("wide.pvp")
+    private boolean pvp;
+    @Config("wide.friendly-fire")
+    private boolean friendlyFire;
+    @Config("wide.home-limit")
+    private int homeLimit;
+    @Config("wide.warp-limit")
+    private int warpLimit;
+    
+    public int maxMembers() {
+        return maxMembers;
+    }
+    
+    public Counter counter() {
+        return counter;
+    }
+}
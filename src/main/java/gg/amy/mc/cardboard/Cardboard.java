@@ -1,28 +1,68 @@
 package gg.amy.mc.cardboard;
 
+import gg.amy.mc.cardboard.command.ArgumentParsers;
+import gg.amy.mc.cardboard.command.AsyncTabCompletion;
 import gg.amy.mc.cardboard.command.BukkitCommandInjector;
 import gg.amy.mc.cardboard.command.CardboardCommand;
 import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.command.PermissionCache;
 import gg.amy.mc.cardboard.component.Component;
+import gg.amy.mc.cardboard.component.ComponentProvider;
+import gg.amy.mc.cardboard.component.ComponentRegistry;
+import gg.amy.mc.cardboard.component.Lazy;
+import gg.amy.mc.cardboard.component.LazySingleton;
 import gg.amy.mc.cardboard.component.LoadableComponent;
+import gg.amy.mc.cardboard.component.PerPlayer;
+import gg.amy.mc.cardboard.component.PlayerScope;
 import gg.amy.mc.cardboard.component.Single;
+import gg.amy.mc.cardboard.component.SingletonLifecycle;
 import gg.amy.mc.cardboard.config.Config;
+import gg.amy.mc.cardboard.config.ConfigBinder;
 import gg.amy.mc.cardboard.config.ConfigFileLoader;
-import gg.amy.mc.cardboard.di.Auto;
-import gg.amy.mc.cardboard.di.BukkitPlugin;
+import gg.amy.mc.cardboard.config.ConfigWatcher;
+import gg.amy.mc.cardboard.di.InjectionPlan;
+import gg.amy.mc.cardboard.event.ListenerRegistrar;
+import gg.amy.mc.cardboard.index.ComponentIndex;
+import gg.amy.mc.cardboard.metrics.Metrics;
+import gg.amy.mc.cardboard.metrics.StartupProfile;
+import gg.amy.mc.cardboard.metrics.StatsCommand;
+import gg.amy.mc.cardboard.schedule.ScheduledTasks;
+import gg.amy.mc.cardboard.schedule.WorkQueue;
+import gg.amy.mc.cardboard.util.DependencyScheduler;
 import gg.amy.mc.cardboard.util.DirectedGraph;
+import gg.amy.mc.cardboard.util.DurationUtil;
 import gg.amy.mc.cardboard.util.TopologicalSort;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
-import org.bukkit.ChatColor;
+import io.papermc.lib.PaperLib;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.event.Listener;
-import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
 
-import java.lang.reflect.Field;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 /**
  * @author amy
@@ -33,44 +73,203 @@ public class Cardboard extends JavaPlugin {
     private final Collection<Class<?>> components = new HashSet<>();
     private final Collection<Class<?>> commands = new HashSet<>();
     private final Map<Class<?>, Object> singletons = new LinkedHashMap<>();
-    private final BukkitCommandInjector injector = new BukkitCommandInjector();
+    private final Map<Class<?>, LazySingleton> lazySingletons = new HashMap<>();
+    private final List<PlayerScope> playerScopes = new ArrayList<>();
+    /**
+     * Lazy singletons loaded before the plugin was enabled, whose
+     * {@link gg.amy.mc.cardboard.schedule.Scheduled} methods can't be
+     * started yet.
+     */
+    private final Queue<Object> unscheduled = new ConcurrentLinkedQueue<>();
+    private final ComponentRegistry registry = new ComponentRegistry();
+    private final SingletonLifecycle lifecycle = new SingletonLifecycle(this);
+    private final DirectedGraph<Class<?>> singletonGraph = new DirectedGraph<>();
+    private List<Class<?>> singletonOrder = List.of();
+    private final ArgumentParsers argumentParsers = new ArgumentParsers();
     private final ConfigFileLoader loader = new ConfigFileLoader(this);
-    private ScanResult graph;
+    private final Map<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<>();
+    private ComponentIndex index;
+    private CardboardOptions options;
+    private ConfigWatcher watcher;
+    private PermissionCache permissionCache;
+    private Metrics metrics;
+    private StartupProfile profile;
+    private WorkQueue workQueue;
+    private volatile ExecutorService asyncExecutor;
+    
+    public Cardboard() {
+    }
+    
+    /**
+     * For running a plugin outside of a server, ex. in benchmarks. Bukkit
+     * refuses to use this for plugins loaded by the server.
+     *
+     * @param loader      The loader, created with the server to use.
+     * @param description The plugin's description.
+     * @param dataFolder  The plugin's data folder.
+     * @param file        The plugin's jar.
+     */
+    protected Cardboard(final JavaPluginLoader loader, final PluginDescriptionFile description, final File dataFolder,
+                        final File file) {
+        super(loader, description, dataFolder, file);
+    }
     
     @Override
     public final void onLoad() {
-        scan(getClass().getPackage().getName());
+        options = getClass().isAnnotationPresent(CardboardOptions.class)
+                ? getClass().getAnnotation(CardboardOptions.class)
+                : DefaultOptions.class.getAnnotation(CardboardOptions.class);
+        if(options.profileStartup()) {
+            profile = new StartupProfile();
+        }
+        phase("scan", () -> scan(getClass().getPackage().getName()));
+        loadComponents();
+        phase("earlyInit", this::earlyInitSingletons);
     }
     
     @Override
     public final void onEnable() {
-        init();
+        if(options.watchConfig()) {
+            try {
+                watcher = new ConfigWatcher(this, loader);
+            } catch(final IOException e) {
+                getLogger().log(Level.WARNING, "Couldn't watch config files for changes, they won't be reloaded!", e);
+            }
+        }
+        if(options.cachePermissions()) {
+            permissionCache = PermissionCache.register(this, options.permissionCacheSize(),
+                    DurationUtil.parse(options.permissionCacheTtl()));
+        }
+        if(options.metrics()) {
+            metrics = new Metrics(getName(), getLogger());
+        }
+        playerScopes.forEach(PlayerScope::start);
+        final CompletableFuture<Void> listeners = init();
+        if(watcher != null) {
+            watcher.start();
+        }
+        if(profile != null) {
+            // Components may still be loading in the background.
+            CompletableFuture.allOf(whenReady(singletonOrder), listeners)
+                    .whenCompleteAsync((__, ___) -> reportStartup(), mainThread());
+        }
+    }
+    
+    /**
+     * Stops watching config files, if {@link CardboardOptions#watchConfig()}
+     * is enabled, unregisters {@link CardboardOptions#metrics()} MBeans,
+     * cancels unfinished {@link WorkQueue} jobs, evicts {@link PerPlayer}
+     * components, and shuts down the
+     * {@link #asyncExecutor()}. Plugins can do their own cleanup in
+     * {@link #onShutdown()}, which runs first.
+     */
+    @Override
+    public final void onDisable() {
+        try {
+            onShutdown();
+        } catch(final Throwable t) {
+            getLogger().log(Level.SEVERE, "Plugin shutdown failed", t);
+        }
+        if(watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        if(asyncExecutor != null) {
+            asyncExecutor.shutdown();
+            asyncExecutor = null;
+        }
+        if(workQueue != null) {
+            workQueue.close();
+        }
+        playerScopes.forEach(PlayerScope::close);
+        permissionCache = null;
+        if(metrics != null) {
+            metrics.close();
+            metrics = null;
+        }
+    }
+    
+    /**
+     * Called when the plugin is disabled, before cardboard cleans up, so
+     * components are all still usable. Does nothing by default.
+     */
+    protected void onShutdown() {
     }
     
     private void scan(final String pkg) {
-        graph = new ClassGraph().enableAllInfo().acceptPackages(pkg).scan();
-        loadComponents();
+        final Optional<ComponentIndex> compiled = ComponentIndex.read(getClassLoader(), pkg);
+        if(compiled.isPresent()) {
+            index = compiled.get();
+        } else {
+            getLogger().warning("No component index found, falling back to scanning " + pkg + "! Is the plugin being "
+                    + "compiled with cardboard's annotation processor?");
+            try(final ScanResult result = new ClassGraph().enableClassInfo().enableAnnotationInfo()
+                    .acceptPackages(pkg).scan()) {
+                index = ComponentIndex.fromScan(result);
+            }
+        }
+    }
+    
+    /**
+     * Runs part of startup, recording how long it took if
+     * {@link CardboardOptions#profileStartup()} is enabled.
+     */
+    private void phase(final String name, final Runnable task) {
+        if(profile == null) {
+            task.run();
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            profile.phase(name, System.nanoTime() - start);
+        }
+    }
+    
+    private void reportStartup() {
+        profile.finish(singletonGraph, singletonOrder);
+        getLogger().info(profile.summary());
+        try {
+            final Path folder = getDataFolder().toPath();
+            Files.createDirectories(folder);
+            Files.writeString(folder.resolve("startup-profile.json"), profile.toJson());
+            Files.writeString(folder.resolve("startup-profile.dot"), profile.toDot());
+        } catch(final IOException e) {
+            getLogger().log(Level.WARNING, "Couldn't write the startup profile!", e);
+        }
+    }
+    
+    private static Class<?> loadClass(final String name) {
+        try {
+            return Class.forName(name);
+        } catch(final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
     }
     
     private void loadComponents() {
         singletons.put(getClass(), this);
-        final DirectedGraph<Class<?>> singletonGraph = new DirectedGraph<>();
+        workQueue = new WorkQueue(this, DurationUtil.parse(options.tickBudget()));
+        singletons.put(WorkQueue.class, workQueue);
         
-        graph.getClassesWithAnnotation(Component.class.getName())
-                .getNames()
+        phase("loadComponents", () -> index.components()
                 .stream()
-                .map(c -> {
-                    try {
-                        return Class.forName(c);
-                    } catch(final ClassNotFoundException e) {
-                        throw new IllegalStateException(e);
-                    }
-                })
+                .map(Cardboard::loadClass)
                 .forEach(c -> {
-                    if(c.isAnnotationPresent(Single.class)) {
+                    if(index.isSingle(c.getName())) {
+                        if(c.isAnnotationPresent(PerPlayer.class)) {
+                            throw new IllegalArgumentException("@Single component " + c.getName()
+                                    + " can't also be @PerPlayer!");
+                        }
                         singletonGraph.addNode(c);
-                        for(final Class<?> dep : c.getDeclaredAnnotation(Single.class).value()) {
-                            if(!c.isAnnotationPresent(Single.class)) {
+                        for(final String depName : index.dependencies(c.getName())) {
+                            final Class<?> dep = loadClass(depName);
+                            if(singletons.containsKey(dep)) {
+                                // Provided by cardboard, and always ready
+                                continue;
+                            }
+                            if(!dep.isAnnotationPresent(Single.class)) {
                                 throw new IllegalArgumentException("@Single component " + c.getName() + " listed component "
                                         + dep.getName() + ", but " + dep.getName() + " is not a @Single component!");
                             }
@@ -81,251 +280,561 @@ public class Cardboard extends JavaPlugin {
                         components.add(c);
                         getLogger().info("Loaded new instanced component: " + c.getName());
                     }
-                });
+                }));
         
-        final List<Class<?>> dependencies = TopologicalSort.sort(singletonGraph);
-        Collections.reverse(dependencies);
-        for(final Class<?> dep : dependencies) {
+        phase("topologicalSort", () -> {
+            singletonOrder = TopologicalSort.sort(singletonGraph);
+            Collections.reverse(singletonOrder);
+        });
+        findLazySingletons();
+        phase("constructSingletons", this::constructSingletons);
+        phase("buildRegistry", this::buildRegistry);
+    }
+    
+    /**
+     * Takes the {@link Lazy} singletons that nothing loaded at startup
+     * depends on out of {@link #singletonOrder}, so that they aren't
+     * constructed until they're used.
+     */
+    private void findLazySingletons() {
+        final Set<Class<?>> eager = new HashSet<>();
+        // Walk backwards, so that every component is seen before its dependencies.
+        for(int i = singletonOrder.size() - 1; i >= 0; i--) {
+            final Class<?> cls = singletonOrder.get(i);
+            if(eager.contains(cls) || !cls.isAnnotationPresent(Lazy.class)) {
+                eager.add(cls);
+                eager.addAll(singletonGraph.edgesFrom(cls));
+            }
+        }
+        final List<Class<?>> eagerOrder = new ArrayList<>();
+        for(final Class<?> cls : singletonOrder) {
+            if(eager.contains(cls)) {
+                eagerOrder.add(cls);
+            } else {
+                lazySingletons.put(cls, new LazySingleton(cls, () -> awaitLazyDependencies(cls),
+                        () -> loadLazySingleton(cls)));
+            }
+        }
+        singletonOrder = eagerOrder;
+    }
+    
+    /**
+     * Loads the dependencies of a {@link Lazy} singleton, and waits for them
+     * to be ready. Called before taking the singleton's lock, so a thread
+     * waiting here never holds up the main thread.
+     */
+    private void awaitLazyDependencies(final Class<?> cls) {
+        for(final Class<?> dep : singletonGraph.edgesFrom(cls)) {
+            final LazySingleton lazy = lazySingletons.get(dep);
+            if(lazy != null) {
+                lazy.get();
+                continue;
+            }
+            final CompletableFuture<Void> ready = lifecycle.whenReady(dep);
+            if(!ready.isDone() && getServer().isPrimaryThread()) {
+                // Background inits finish on the main thread, so waiting here
+                // would never end.
+                throw new IllegalStateException("Can't load lazy component " + cls.getName() + " yet: "
+                        + dep.getName() + " is still loading");
+            }
             try {
-                singletons.put(dep, dep.getDeclaredConstructor().newInstance());
-                getLogger().info("Loaded new singleton component: " + dep.getName());
-            } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
-                    | IllegalAccessException e) {
-                e.printStackTrace();
+                ready.join();
+            } catch(final CompletionException | CancellationException e) {
+                throw new IllegalStateException("Can't load lazy component " + cls.getName() + ": "
+                        + dep.getName() + " failed to load", e);
             }
         }
     }
     
-    private void init() {
-        initSingletons();
-        registerListeners();
-        registerCommands();
+    /**
+     * Loads a {@link Lazy} singleton on its first use, once
+     * {@link #awaitLazyDependencies(Class)} has returned.
+     */
+    private Object loadLazySingleton(final Class<?> cls) {
+        final Object instance = constructSingleton(cls);
+        if(instance == null) {
+            // Construction failed; that's already been logged.
+            throw new IllegalStateException("Couldn't construct lazy component " + cls.getName());
+        }
+        injectConfig(instance);
+        injectComponents(instance);
+        if(instance instanceof LoadableComponent l) {
+            if(l.doInit()) {
+                getLogger().info("Loaded component " + getComponentName(instance) + ": "
+                        + getComponentDescription(instance));
+            } else {
+                getLogger().warning("Failed loading component " + getComponentName(instance) + ": "
+                        + getComponentDescription(instance));
+            }
+        }
+        // Only once nothing can throw anymore, so a failed load that's tried
+        // again doesn't watch an extra instance.
+        watchConfig(instance);
+        if(isEnabled()) {
+            ScheduledTasks.schedule(this, instance);
+        } else {
+            unscheduled.add(instance);
+        }
+        return instance;
     }
     
-    private void initSingletons() {
-        singletons.values().forEach(v -> {
-            injectConfig(v);
-            injectComponents(v);
-            if(v instanceof LoadableComponent l) {
-                if(l.doInit()) {
-                    getLogger().info("Loaded component " + getComponentName(v) + ": " + getComponentDescription(v));
-                } else {
-                    getLogger().warning("Failed loading component " + getComponentName(v) + ": " + getComponentDescription(v));
+    private void constructSingletons() {
+        if(options.parallelInit()) {
+            final Map<Class<?>, Object> constructed = new ConcurrentHashMap<>();
+            final ForkJoinPool pool = createInitPool();
+            try {
+                DependencyScheduler.join(DependencyScheduler.schedule(singletonGraph, singletonOrder, pool, dep -> {
+                    final Object instance = constructSingleton(dep);
+                    if(instance != null) {
+                        constructed.put(dep, instance);
+                    }
+                }).values());
+            } finally {
+                pool.shutdown();
+            }
+            // Keep singletons in dependency order, regardless of which finished first.
+            for(final Class<?> dep : singletonOrder) {
+                if(constructed.containsKey(dep)) {
+                    singletons.put(dep, constructed.get(dep));
                 }
             }
-        });
+        } else {
+            for(final Class<?> dep : singletonOrder) {
+                final Object instance = constructSingleton(dep);
+                if(instance != null) {
+                    singletons.put(dep, instance);
+                }
+            }
+        }
     }
     
-    public final void injectConfig(final Object object) {
-        for(final Field f : object.getClass().getDeclaredFields()) {
-            if(f.isAnnotationPresent(Config.class)) {
-                f.setAccessible(true);
-                final Config annotation = f.getDeclaredAnnotation(Config.class);
-                final String file = annotation.file();
-                final String path = annotation.value();
-                final Class<?> type = f.getType();
-                final ConfigurationSection config;
-                if(file.equalsIgnoreCase("config.yml")) {
-                    config = getConfig();
-                } else {
-                    config = loader.loadFile(file);
-                }
-                injectValueFromConfig(object, f, annotation, path, type, config);
+    private Object constructSingleton(final Class<?> cls) {
+        try {
+            final long start = System.nanoTime();
+            final Object instance = cls.getDeclaredConstructor().newInstance();
+            if(profile != null) {
+                profile.constructed(cls, System.nanoTime() - start);
             }
+            getLogger().info("Loaded new singleton component: " + cls.getName());
+            return instance;
+        } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
+                | IllegalAccessException e) {
+            e.printStackTrace();
+            return null;
         }
     }
     
-    public final void injectConfigFromFile(final Object object, final String file) {
-        for(final Field f : object.getClass().getDeclaredFields()) {
-            if(f.isAnnotationPresent(Config.class)) {
-                f.setAccessible(true);
-                final Config annotation = f.getDeclaredAnnotation(Config.class);
-                final String path = annotation.value();
-                final Class<?> type = f.getType();
-                final ConfigurationSection config = loader.loadFile(file);
-                injectValueFromConfig(object, f, annotation, path, type, config);
+    /**
+     * @return A temporary pool for constructing and initialising
+     * {@link Single} components in parallel.
+     */
+    private ForkJoinPool createInitPool() {
+        final ClassLoader classLoader = getClassLoader();
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(getName() + "-init-" + thread.getPoolIndex());
+            // Components expect to see their own plugin's classes, ex. for ServiceLoader
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+    
+    private void earlyInitSingletons() {
+        for(final Class<?> cls : singletonOrder) {
+            if(singletons.get(cls) instanceof LoadableComponent l) {
+                l.earlyInit();
             }
         }
     }
     
-    private void injectValueFromConfig(final Object object, final Field f, final Config annotation, final String path,
-                                       final Class<?> type, final ConfigurationSection config) {
-        final Object value;
-        if(type.equals(Boolean.class) || type.equals(boolean.class)) {
-            value = config.getBoolean(path);
-        } else if(type.equals(Double.class) || type.equals(double.class)) {
-            value = config.getDouble(path);
-        } else if(type.equals(Float.class) || type.equals(float.class)) {
-            value = (float) config.getDouble(path);
-        } else if(type.equals(Byte.class) || type.equals(byte.class)) {
-            value = (byte) config.getInt(path);
-        } else if(type.equals(Short.class) || type.equals(short.class)) {
-            value = (short) config.getInt(path);
-        } else if(type.equals(Integer.class) || type.equals(int.class)) {
-            value = config.getInt(path);
-        } else if(type.equals(Long.class) || type.equals(long.class)) {
-            value = config.getLong(path);
-        } else if(type.equals(String.class)) {
-            if(annotation.coloured()) {
-                final String string = config.getString(path);
-                if(string != null) {
-                    value = ChatColor.translateAlternateColorCodes('&', string);
-                } else {
-                    value = null;
-                }
+    private void buildRegistry() {
+        singletons.forEach((cls, instance) -> registry.register(cls, true, __ -> instance));
+        lazySingletons.forEach((cls, lazy) -> registry.register(cls, true, lazy));
+        for(final Class<?> cls : components) {
+            final Constructor<?> constructor;
+            try {
+                constructor = cls.getDeclaredConstructor();
+            } catch(final NoSuchMethodException e) {
+                throw new IllegalStateException("Component " + cls.getName() + " has no no-args constructor!", e);
+            }
+            final ComponentProvider provider = ctx -> instantiate(constructor, ctx);
+            if(cls.isAnnotationPresent(PerPlayer.class)) {
+                final PlayerScope scope = new PlayerScope(this, cls, provider);
+                playerScopes.add(scope);
+                registry.register(cls, false, scope);
             } else {
-                value = config.getString(path);
+                registry.register(cls, false, provider);
             }
-        } else {
-            value = config.get(path);
         }
-        f.setAccessible(true);
+        registry.build();
+    }
+    
+    private Object instantiate(final Constructor<?> constructor, final Map<Class<?>, ?> ctx) {
         try {
-            f.set(object, value);
-        } catch(final IllegalAccessException e) {
+            final Object instance = constructor.newInstance();
+            injectConfig(instance);
+            injectComponents(instance, ctx);
+            return instance;
+        } catch(final InstantiationException | InvocationTargetException | IllegalAccessException e) {
             throw new IllegalStateException(e);
         }
     }
     
-    public final void injectComponents(final Object component) {
-        injectComponents(component, new HashMap<>());
+    /**
+     * @return A future that completes once every listener is registered.
+     */
+    private CompletableFuture<Void> init() {
+        phase("initSingletons", this::initSingletons);
+        phase("scheduleTasks", this::scheduleTasks);
+        // Listeners are timed as they're registered, since some of them wait
+        // for components to be ready first.
+        final CompletableFuture<Void> listeners = registerListeners();
+        phase("registerCommands", this::registerCommands);
+        return listeners;
     }
     
-    public final void injectComponents(final Object object, final Map<Class<?>, ?> ctx) {
-        for(final Field field : object.getClass().getDeclaredFields()) {
+    private void initSingletons() {
+        injectConfig(this);
+        watchConfig(this);
+        injectComponents(this);
+        if(options.parallelInit()) {
+            // JavaPlugin loads config.yml lazily, and not in a thread-safe way.
+            getConfig();
+            final ForkJoinPool pool = createInitPool();
             try {
-                if(field.isAnnotationPresent(Auto.class)) {
-                    field.setAccessible(true);
-                    final Class<?> type = field.getType();
-                    final Optional<Class<?>> ctxMatch = ctx.keySet().stream().filter(type::isAssignableFrom).findFirst();
-                    if(ctxMatch.isPresent()) {
-                        field.set(object, ctx.get(ctxMatch.get()));
-                    } else {
-                        final Optional<?> located = getComponent(type, ctx);
-                        if(located.isPresent()) {
-                            field.set(object, located.get());
-                        } else {
-                            getLogger().severe(String.format(
-                                    "Couldn't inject component of type `%s` into %s#%s: no such component found!",
-                                    type.getName(),
-                                    object.getClass().getName(),
-                                    field.getName()
-                            ));
-                        }
-                    }
-                }
-                if(field.isAnnotationPresent(BukkitPlugin.class)) {
-                    field.setAccessible(true);
-                    final String name = field.getDeclaredAnnotation(BukkitPlugin.class).value();
-                    final Plugin plugin = getServer().getPluginManager().getPlugin(name);
-                    if(plugin == null) {
-                        throw new IllegalStateException("Was asked to load plugin " + name + " for " + object.getClass() + '#'
-                                + field.getName() + ", but that plugin doesn't exist? Is it loaded?");
-                    } else {
-                        field.set(object, plugin);
-                    }
+                DependencyScheduler.join(List.of(lifecycle.start(singletonGraph, singletonOrder, singletons, pool)));
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            DependencyScheduler.join(List.of(lifecycle.start(singletonGraph, singletonOrder, singletons, Runnable::run)));
+        }
+    }
+    
+    /**
+     * Starts the {@link gg.amy.mc.cardboard.schedule.Scheduled} methods of
+     * the plugin and of each singleton, once the singleton is ready. Lazy
+     * singletons are started when they're loaded instead.
+     */
+    private void scheduleTasks() {
+        ScheduledTasks.schedule(this, this);
+        for(Object instance = unscheduled.poll(); instance != null; instance = unscheduled.poll()) {
+            ScheduledTasks.schedule(this, instance);
+        }
+        for(final Class<?> cls : singletonOrder) {
+            final Object instance = singletons.get(cls);
+            if(instance != null) {
+                // Skipped if the component fails to load
+                lifecycle.whenReady(cls).thenRunAsync(() -> ScheduledTasks.schedule(this, instance), mainThread());
+            }
+        }
+    }
+    
+    /**
+     * @return An executor that runs tasks on the server's main thread; right
+     * away if already on it, or on the next tick otherwise.
+     */
+    public final Executor mainThread() {
+        return task -> {
+            if(getServer().isPrimaryThread()) {
+                task.run();
+            } else {
+                getServer().getScheduler().runTask(this, task);
+            }
+        };
+    }
+    
+    /**
+     * Checks a command permission, going through the permission cache if
+     * {@link CardboardOptions#cachePermissions()} is enabled.
+     *
+     * @param sender     The sender to check.
+     * @param permission The permission node.
+     *
+     * @return Whether the sender has the permission or is op.
+     */
+    public final boolean hasPermission(final CommandSender sender, final String permission) {
+        final PermissionCache cache = permissionCache;
+        if(cache != null) {
+            return cache.hasPermission(sender, permission);
+        }
+        return sender.hasPermission(permission) || sender.isOp();
+    }
+    
+    /**
+     * Drops any cached permission decisions for a player. Call this after
+     * changing a player's permissions if the permission plugin isn't one
+     * that cardboard listens to. Does nothing if
+     * {@link CardboardOptions#cachePermissions()} isn't enabled.
+     *
+     * @param player The player's UUID.
+     */
+    public final void invalidatePermissions(final UUID player) {
+        final PermissionCache cache = permissionCache;
+        if(cache != null) {
+            cache.invalidate(player);
+        }
+    }
+    
+    /**
+     * @return The executor that {@link gg.amy.mc.cardboard.command.Async}
+     * command handlers run on. It's created by {@link #createAsyncExecutor()}
+     * the first time it's needed.
+     */
+    public final Executor asyncExecutor() {
+        ExecutorService local = asyncExecutor;
+        if(local == null) {
+            synchronized(this) {
+                local = asyncExecutor;
+                if(local == null) {
+                    local = createAsyncExecutor();
+                    asyncExecutor = local;
                 }
-            } catch(final IllegalAccessException e) {
-                e.printStackTrace();
             }
         }
+        return local;
+    }
+    
+    /**
+     * Creates the executor for {@link gg.amy.mc.cardboard.command.Async}
+     * command handlers. By default, every task gets its own virtual thread
+     * if the runtime supports them, and a cached pool of daemon threads is
+     * used otherwise. Override this to use a different executor; it's shut
+     * down in {@link #onDisable()}.
+     *
+     * @return The executor.
+     */
+    protected ExecutorService createAsyncExecutor() {
+        try {
+            // Virtual threads are only available from Java 21, and cardboard
+            // still supports older runtimes.
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch(final ReflectiveOperationException ignored) {
+            // Fall back to platform threads
+        }
+        final ClassLoader classLoader = getClassLoader();
+        final AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            final Thread thread = new Thread(r, getName() + "-async-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        });
+    }
+    
+    /**
+     * @param types Types that may resolve to {@link Single} components, ex.
+     *              the types of a class' {@link gg.amy.mc.cardboard.di.Auto}
+     *              fields.
+     *
+     * @return A future that completes once all of the singletons the types
+     * resolve to have finished initialising.
+     */
+    public final CompletableFuture<Void> whenReady(final Collection<Class<?>> types) {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for(final Class<?> type : types) {
+            final Class<?> cls = registry.componentClass(type);
+            if(cls != null) {
+                futures.add(lifecycle.whenReady(cls));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    public final void injectConfig(final Object object) {
+        getInjectionPlan(object.getClass()).injectConfig(this, object, null);
     }
     
-    private void registerListeners() {
-        graph.getClassesImplementing(Listener.class.getName())
-                .getNames()
+    public final void injectConfigFromFile(final Object object, final String file) {
+        getInjectionPlan(object.getClass()).injectConfig(this, object, file);
+    }
+    
+    /**
+     * Re-injects the object's {@link gg.amy.mc.cardboard.config.Config}
+     * fields whenever the files they read from change on disk. Singletons,
+     * listeners, and singleton and pooled commands are watched automatically.
+     * Does nothing unless {@link CardboardOptions#watchConfig()} is enabled.
+     *
+     * @param object The object to watch. It's only weakly referenced.
+     */
+    public final void watchConfig(final Object object) {
+        if(watcher != null) {
+            watcher.watch(object, null);
+        }
+    }
+    
+    /**
+     * Like {@link #watchConfig(Object)}, for objects injected with
+     * {@link #injectConfigFromFile(Object, String)}.
+     *
+     * @param object The object to watch. It's only weakly referenced.
+     * @param file   The file the object was injected from.
+     */
+    public final void watchConfigFromFile(final Object object, final String file) {
+        if(watcher != null) {
+            watcher.watch(object, file);
+        }
+    }
+    
+    public final void injectComponents(final Object component) {
+        injectComponents(component, new HashMap<>());
+    }
+    
+    public final void injectComponents(final Object object, final Map<Class<?>, ?> ctx) {
+        getInjectionPlan(object.getClass()).injectComponents(this, object, ctx);
+    }
+    
+    public final InjectionPlan getInjectionPlan(final Class<?> cls) {
+        return plans.computeIfAbsent(cls, c -> InjectionPlan.compile(c));
+    }
+    
+    /**
+     * @return A future that completes once every listener is registered.
+     */
+    private CompletableFuture<Void> registerListeners() {
+        return CompletableFuture.allOf(index.listeners()
                 .stream()
-                .map(c -> {
-                    try {
-                        return Class.forName(c);
-                    } catch(final ClassNotFoundException e) {
-                        throw new IllegalStateException(e);
-                    }
-                })
-                .forEach(c -> {
-                    try {
-                        final Listener listener = (Listener) c.getDeclaredConstructor().newInstance();
-                        injectConfig(listener);
-                        injectComponents(listener);
-                        getServer().getPluginManager().registerEvents(listener, this);
-                        getLogger().info("Loaded new Bukkit listener: " + c.getName());
-                    } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
-                            | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                });
+                .map(Cardboard::loadClass)
+                // Listeners wait for the components they use to be ready. Any
+                // that failed to load have been logged already, so register
+                // regardless once they're done.
+                .map(c -> whenReady(getInjectionPlan(c).autoTypes())
+                        .whenCompleteAsync((__, ___) -> phase("registerListeners", () -> registerListener(c)),
+                                mainThread()))
+                .toArray(CompletableFuture<?>[]::new));
+    }
+    
+    private void registerListener(final Class<?> c) {
+        try {
+            final Listener listener = (Listener) c.getDeclaredConstructor().newInstance();
+            injectConfig(listener);
+            watchConfig(listener);
+            injectComponents(listener);
+            ListenerRegistrar.register(this, listener, metrics);
+            getLogger().info("Loaded new Bukkit listener: " + c.getName());
+        } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
+                | IllegalAccessException e) {
+            e.printStackTrace();
+        }
     }
     
     private void registerCommands() {
-        graph.getClassesWithAnnotation(Command.class.getName())
-                .getNames()
+        final BukkitCommandInjector injector = new BukkitCommandInjector();
+        final AsyncTabCompletion asyncTabCompletion = PaperLib.isPaper() ? AsyncTabCompletion.register(this) : null;
+        index.commands()
                 .stream()
-                .map(c -> {
-                    try {
-                        return Class.forName(c);
-                    } catch(final ClassNotFoundException e) {
-                        throw new IllegalStateException(e);
-                    }
-                })
-                .forEach(c -> {
-                    commands.add(c);
-                    final Command annotation = c.getDeclaredAnnotation(Command.class);
-                    final CardboardCommand wrapper = new CardboardCommand(this, c, annotation.name(), annotation.desc(),
-                            annotation.usage(), new ArrayList<>(Arrays.asList(annotation.aliases())), annotation.permissionNode(),
-                            annotation.permissionMessage());
-                    wrapper.setLabel(annotation.label());
-                    wrapper.loadSubcommands();
-                    injector.register(wrapper);
-                    getLogger().info("Loaded new Bukkit command: " + c.getName());
-                });
+                .map(Cardboard::loadClass)
+                .forEach(c -> registerCommand(c, c.getDeclaredAnnotation(Command.class).label(), injector,
+                        asyncTabCompletion));
+        if(metrics != null) {
+            // Prefixed with the plugin's name, so that every cardboard plugin
+            // on the server can have its own.
+            registerCommand(StatsCommand.class, getName().toLowerCase(Locale.ROOT), injector, asyncTabCompletion);
+        }
+    }
+    
+    private void registerCommand(final Class<?> c, final String label, final BukkitCommandInjector injector,
+                                 final AsyncTabCompletion asyncTabCompletion) {
+        commands.add(c);
+        final Command annotation = c.getDeclaredAnnotation(Command.class);
+        final CardboardCommand wrapper = new CardboardCommand(this, c, annotation.name(), annotation.desc(),
+                annotation.usage(), new ArrayList<>(Arrays.asList(annotation.aliases())), annotation.permissionNode(),
+                annotation.permissionMessage());
+        wrapper.setLabel(label);
+        wrapper.loadSubcommands();
+        final boolean registered = injector.register(wrapper);
+        if(asyncTabCompletion != null) {
+            asyncTabCompletion.add(wrapper, label, registered);
+        }
+        getLogger().info("Loaded new Bukkit command: " + c.getName());
     }
     
     public final <T> Optional<T> getComponent(final Class<T> cls) {
         return getComponent(cls, new HashMap<>());
     }
     
-    @SuppressWarnings({"unchecked", "DuplicatedCode"})
+    /**
+     * @param cls The type of component to get.
+     * @param ctx Extra values available for injection into new instances,
+     *            keyed by type.
+     * @param <T> The type of component to get.
+     *
+     * @return The {@link Single} component or a new instance of the instanced
+     * component assignable to the type, if there is one.
+     *
+     * @throws IllegalStateException If more than one component matches.
+     */
+    @SuppressWarnings("unchecked")
     public final <T> Optional<T> getComponent(final Class<T> cls, final Map<Class<?>, ?> ctx) {
-        if(singletons.containsKey(cls)) {
-            return Optional.of((T) singletons.get(cls));
+        final ComponentProvider provider = registry.lookup(cls);
+        if(provider != null) {
+            return Optional.of((T) provider.get(ctx));
         } else {
-            final Optional<Class<?>> first = singletons.keySet().stream().filter(cls::isAssignableFrom).findFirst();
-            if(first.isPresent()) {
-                return Optional.of((T) singletons.get(first.get()));
-            } else {
-                final Optional<Class<?>> comp = components.stream().filter(cls::isAssignableFrom).findFirst();
-                if(comp.isPresent()) {
-                    try {
-                        final Object instance = comp.get().getDeclaredConstructor().newInstance();
-                        injectConfig(instance);
-                        injectComponents(instance, ctx);
-                        return Optional.of((T) instance);
-                    } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
-                            | IllegalAccessException e) {
-                        throw new IllegalStateException(e);
-                    }
-                } else {
-                    return Optional.empty();
-                }
-            }
+            return Optional.empty();
         }
     }
     
+    /**
+     * Looks up what provides the component for a type, so callers that get
+     * the same type over and over, ex. {@link gg.amy.mc.cardboard.di.Auto}
+     * fields, can skip the lookup.
+     *
+     * @param type The type to look up.
+     *
+     * @return The provider of the only component assignable to the type, if
+     * there is one.
+     *
+     * @throws IllegalStateException If several components match.
+     */
+    public final Optional<ComponentProvider> getComponentProvider(final Class<?> type) {
+        return Optional.ofNullable(registry.lookup(type));
+    }
+    
+    /**
+     * @return The parsers for the parameters of typed command handlers.
+     * Register custom parsers here before commands are loaded, ex. in a
+     * component's {@link LoadableComponent#init()}.
+     */
+    public final ArgumentParsers getArgumentParsers() {
+        return argumentParsers;
+    }
+    
+    /**
+     * @return The command and listener timings, if
+     * {@link CardboardOptions#metrics()} is enabled.
+     */
+    public final Optional<Metrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+    
+    /**
+     * @return The queue for spreading large jobs over several ticks.
+     */
+    public final WorkQueue getWorkQueue() {
+        return workQueue;
+    }
+    
+    /**
+     * @return The startup timings, if
+     * {@link CardboardOptions#profileStartup()} is enabled.
+     */
+    public final Optional<StartupProfile> getStartupProfile() {
+        return Optional.ofNullable(profile);
+    }
+    
     public final <T> Optional<T> getCommand(final Class<T> cls) {
         return getCommand(cls, new HashMap<>());
     }
     
-    @SuppressWarnings({"unchecked", "DuplicatedCode"})
+    @SuppressWarnings("unchecked")
     public final <T> Optional<T> getCommand(final Class<T> cls, final Map<Class<?>, ?> ctx) {
-        final Optional<Class<?>> cmd = commands.stream().filter(cls::isAssignableFrom).findFirst();
+        final Optional<Class<?>> cmd = commands.contains(cls) ? Optional.of(cls)
+                : commands.stream().filter(cls::isAssignableFrom).findFirst();
         if(cmd.isPresent()) {
             try {
-                final Object instance = cmd.get().getDeclaredConstructor().newInstance();
-                injectConfig(instance);
-                injectComponents(instance, ctx);
-                return Optional.of((T) instance);
-            } catch(final InstantiationException | NoSuchMethodException | InvocationTargetException
-                    | IllegalAccessException e) {
+                return Optional.of((T) instantiate(cmd.get().getDeclaredConstructor(), ctx));
+            } catch(final NoSuchMethodException e) {
                 throw new IllegalStateException(e);
             }
         } else {
@@ -352,4 +861,44 @@ public class Cardboard extends JavaPlugin {
     public final ConfigurationSection loadConfig(final String path) {
         return loader.loadFile(path);
     }
+    
+    /**
+     * Binds a record or interface annotated with {@link Config} to the file
+     * and path given by the annotation. Unlike {@link Config} fields, this
+     * always reads the file as it is right now.
+     *
+     * @param type The type to bind.
+     * @param <T>  The type to bind.
+     *
+     * @return An immutable snapshot of the config.
+     *
+     * @throws IllegalArgumentException If the type isn't annotated with
+     *                                  {@link Config}, or the config doesn't
+     *                                  fit it.
+     * @see ConfigBinder
+     */
+    public final <T> T bindConfig(final Class<T> type) {
+        final Config annotation = type.getDeclaredAnnotation(Config.class);
+        if(annotation == null) {
+            throw new IllegalArgumentException(type.getName() + " isn't annotated with @Config!");
+        }
+        return ConfigBinder.bind(loadConfig(annotation.file()), annotation.value(), type);
+    }
+    
+    @Override
+    public FileConfiguration getConfig() {
+        // Prefer the copy that the config watcher read in the background.
+        final FileConfiguration reloaded = loader.reloadedMainConfig();
+        return reloaded != null ? reloaded : super.getConfig();
+    }
+    
+    @Override
+    public void reloadConfig() {
+        super.reloadConfig();
+        loader.clearReloadedMainConfig();
+    }
+    
+    @CardboardOptions
+    private static final class DefaultOptions {
+    }
 }
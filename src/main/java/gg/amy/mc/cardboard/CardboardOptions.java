@@ -0,0 +1,94 @@
+package gg.amy.mc.cardboard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opt-in behaviour for a cardboard plugin. Put this on the class that
+ * extends {@link Cardboard}; leaving it off is the same as using all the
+ * defaults.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CardboardOptions {
+    /**
+     * @return Whether {@link gg.amy.mc.cardboard.component.Single} components
+     * are constructed and initialised in parallel, with each component
+     * waiting only on the components it lists as dependencies. Components
+     * that touch the Bukkit API during construction or
+     * {@link gg.amy.mc.cardboard.component.LoadableComponent#init()} must not
+     * enable this, as they will no longer be running on the main thread.
+     * Optional.
+     */
+    boolean parallelInit() default false;
+    
+    /**
+     * @return Whether to watch the plugin's data folder, and re-inject
+     * {@link gg.amy.mc.cardboard.config.Config} fields when the files they
+     * read from change, without reloading the plugin. Fields are only
+     * updated after the changed file has been read successfully, and always
+     * on the main thread. Components that read their config in
+     * {@link gg.amy.mc.cardboard.component.LoadableComponent#loadConfig()}
+     * aren't reloaded. Optional.
+     */
+    boolean watchConfig() default false;
+    
+    /**
+     * @return Whether to cache the permission checks made while dispatching
+     * and tab completing commands, per player and permission node. Useful
+     * when the permission plugin is slow to ask, at the cost of permission
+     * changes taking up to {@link #permissionCacheTtl()} to apply, unless
+     * the permission plugin is LuckPerms or calls
+     * {@link Cardboard#invalidatePermissions(java.util.UUID)}. Optional.
+     * @see gg.amy.mc.cardboard.command.PermissionCache
+     */
+    boolean cachePermissions() default false;
+    
+    /**
+     * @return The most permission decisions to cache, if
+     * {@link #cachePermissions()} is enabled. Optional.
+     */
+    int permissionCacheSize() default 4096;
+    
+    /**
+     * @return How long to cache permission decisions for, if
+     * {@link #cachePermissions()} is enabled, ex. {@code 30s} or
+     * {@code 5m}. Optional.
+     */
+    String permissionCacheTtl() default "30s";
+    
+    /**
+     * @return Whether to record how long every command, subcommand, and
+     * listener takes, and show it with {@code /cardboard stats} and over
+     * JMX. Recording costs a couple of {@link System#nanoTime()} calls per
+     * command or event. Optional.
+     * @see gg.amy.mc.cardboard.metrics.Metrics
+     */
+    boolean metrics() default false;
+    
+    /**
+     * @return Whether to time each phase of startup, and how long each
+     * {@link gg.amy.mc.cardboard.component.Single} component takes to
+     * construct and initialise. Once every component is ready, a summary with
+     * the critical path through the components' dependencies is logged, and
+     * the full profile is written to {@code startup-profile.json} and
+     * {@code startup-profile.dot} (for Graphviz) in the plugin's data
+     * folder. Optional.
+     * @see gg.amy.mc.cardboard.metrics.StartupProfile
+     */
+    boolean profileStartup() default false;
+    
+    /**
+     * @return How long the {@link gg.amy.mc.cardboard.schedule.WorkQueue}
+     * may spend on jobs every tick, ex. {@code 5ms}. Main thread
+     * {@link gg.amy.mc.cardboard.schedule.Scheduled} tasks and work queue
+     * steps that take longer than this are logged. A tick is 50ms, and the
+     * server needs most of it. Optional.
+     */
+    String tickBudget() default "5ms";
+}
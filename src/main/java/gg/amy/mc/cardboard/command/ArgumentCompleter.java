@@ -0,0 +1,60 @@
+package gg.amy.mc.cardboard.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Collection;
+
+/**
+ * Suggests values for a parameter of a typed {@link Subcommand} or
+ * {@link Default} handler when tab completing. Candidates that don't start
+ * with what's been typed are filtered out afterwards, so completers don't
+ * need to do that themselves.
+ * <p/>
+ * Completers for the types that {@link ArgumentParsers} can parse are
+ * provided; others can be registered with
+ * {@link ArgumentParsers#registerCompleter(Class, ArgumentCompleter)} or put
+ * on a single parameter with {@link Completer}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@FunctionalInterface
+public interface ArgumentCompleter {
+    /**
+     * @param sender The sender tab completing.
+     * @param input  What's been typed for the argument so far.
+     *
+     * @return The candidates for the argument.
+     */
+    Collection<String> complete(CommandSender sender, String input);
+    
+    /**
+     * @return Whether this completer may be called off the main thread. On
+     * Paper, tab completion of chat commands happens asynchronously, but
+     * only if every completer involved is thread-safe; otherwise it falls
+     * back to completing on the main thread.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+    
+    /**
+     * @param completer A completer that doesn't need the main thread, ex.
+     *                  one that completes from a fixed list.
+     *
+     * @return The same completer, marked as {@link #isThreadSafe()}.
+     */
+    static ArgumentCompleter threadSafe(final ArgumentCompleter completer) {
+        return new ArgumentCompleter() {
+            @Override
+            public Collection<String> complete(final CommandSender sender, final String input) {
+                return completer.complete(sender, input);
+            }
+            
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+    }
+}
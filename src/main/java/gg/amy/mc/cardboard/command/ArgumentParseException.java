@@ -0,0 +1,15 @@
+package gg.amy.mc.cardboard.command;
+
+/**
+ * Thrown when the arguments of a command can't be parsed into the
+ * parameters of its handler. The message is shown to the sender, followed by
+ * the usage of the command.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public class ArgumentParseException extends IllegalArgumentException {
+    public ArgumentParseException(final String message) {
+        super(message);
+    }
+}
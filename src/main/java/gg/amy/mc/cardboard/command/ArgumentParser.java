@@ -0,0 +1,27 @@
+package gg.amy.mc.cardboard.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Turns a single argument of a command into a value for a typed
+ * {@link Subcommand} or {@link Default} handler parameter. Register custom
+ * parsers with {@link ArgumentParsers#register(Class, ArgumentParser)}.
+ *
+ * @param <T> The type of value parsed.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+    /**
+     * @param sender The sender executing the command.
+     * @param input  The argument, with any quotes removed.
+     *
+     * @return The parsed value. Must not be {@code null}.
+     *
+     * @throws ArgumentParseException If the input isn't valid. The message
+     *                                is shown to the sender.
+     */
+    T parse(CommandSender sender, String input);
+}
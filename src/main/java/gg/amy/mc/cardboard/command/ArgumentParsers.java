@@ -0,0 +1,197 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.util.DurationUtil;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ArgumentParser}s available to typed command handlers, by type.
+ * Out of the box, this can parse strings, all primitives and their boxes,
+ * {@link Player}s (by exact name), {@link World}s, {@link Duration}s (see
+ * {@link DurationUtil#parse(String)}), {@link UUID}s, and any enum (ignoring
+ * case).
+ * <p/>
+ * Parsers are looked up once, when a command is loaded, so custom parsers
+ * must be registered before that, ex. in a component's
+ * {@link gg.amy.mc.cardboard.component.LoadableComponent#init()}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ArgumentParsers {
+    private final Map<Class<?>, ArgumentParser<?>> parsers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ArgumentParser<?>> enums = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ArgumentCompleter> completers = new ConcurrentHashMap<>();
+    
+    public ArgumentParsers() {
+        register(String.class, (sender, input) -> input);
+        register(boolean.class, Boolean.class, (sender, input) -> switch(input.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> true;
+            case "false", "no", "off" -> false;
+            default -> throw new ArgumentParseException("`" + input + "` isn't true or false!");
+        });
+        register(int.class, Integer.class, (sender, input) -> (int) integer(input, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        register(long.class, Long.class, (sender, input) -> integer(input, Long.MIN_VALUE, Long.MAX_VALUE));
+        register(short.class, Short.class, (sender, input) -> (short) integer(input, Short.MIN_VALUE, Short.MAX_VALUE));
+        register(byte.class, Byte.class, (sender, input) -> (byte) integer(input, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        register(double.class, Double.class, ArgumentParsers::number);
+        register(float.class, Float.class, (sender, input) -> (float) number(sender, input));
+        register(Player.class, (sender, input) -> {
+            final Player player = sender.getServer().getPlayerExact(input);
+            if(player == null) {
+                throw new ArgumentParseException("No player named `" + input + "` is online!");
+            }
+            return player;
+        });
+        register(World.class, (sender, input) -> {
+            final World world = sender.getServer().getWorld(input);
+            if(world == null) {
+                throw new ArgumentParseException("No world named `" + input + "` exists!");
+            }
+            return world;
+        });
+        register(Duration.class, (sender, input) -> {
+            try {
+                return DurationUtil.parse(input);
+            } catch(final IllegalArgumentException e) {
+                throw new ArgumentParseException("`" + input + "` isn't a duration, ex. `30s` or `1h 30m`!");
+            }
+        });
+        register(UUID.class, (sender, input) -> {
+            try {
+                return UUID.fromString(input);
+            } catch(final IllegalArgumentException e) {
+                throw new ArgumentParseException("`" + input + "` isn't a UUID!");
+            }
+        });
+        
+        final List<String> booleans = List.of("false", "true");
+        registerCompleter(boolean.class, ArgumentCompleter.threadSafe((sender, input) -> booleans));
+        registerCompleter(Boolean.class, ArgumentCompleter.threadSafe((sender, input) -> booleans));
+        // Not thread-safe: Player#canSee reads the sender's hidden players,
+        // which are only safe to touch on the main thread.
+        registerCompleter(Player.class, (sender, input) -> {
+            final List<String> names = new ArrayList<>();
+            for(final Player player : sender.getServer().getOnlinePlayers()) {
+                if(!(sender instanceof Player p) || p.canSee(player)) {
+                    names.add(player.getName());
+                }
+            }
+            return names;
+        });
+        registerCompleter(World.class, (sender, input) -> {
+            final List<String> names = new ArrayList<>();
+            for(final World world : sender.getServer().getWorlds()) {
+                names.add(world.getName());
+            }
+            return names;
+        });
+    }
+    
+    private static long integer(final String input, final long min, final long max) {
+        final long value;
+        try {
+            value = Long.parseLong(input);
+        } catch(final NumberFormatException e) {
+            throw new ArgumentParseException("`" + input + "` isn't a whole number!");
+        }
+        if(value < min || value > max) {
+            throw new ArgumentParseException("`" + input + "` isn't between " + min + " and " + max + '!');
+        }
+        return value;
+    }
+    
+    private static double number(final CommandSender sender, final String input) {
+        try {
+            final double value = Double.parseDouble(input);
+            if(Double.isFinite(value)) {
+                return value;
+            }
+        } catch(final NumberFormatException ignored) {
+            // Falls through to the error below
+        }
+        throw new ArgumentParseException("`" + input + "` isn't a number!");
+    }
+    
+    private <T> void register(final Class<T> primitive, final Class<T> boxed, final ArgumentParser<T> parser) {
+        register(primitive, parser);
+        register(boxed, parser);
+    }
+    
+    /**
+     * Registers a parser, replacing any existing parser for the type.
+     *
+     * @param type   The type of handler parameter to use the parser for.
+     * @param parser The parser.
+     * @param <T>    The type of handler parameter.
+     */
+    public <T> void register(final Class<T> type, final ArgumentParser<? extends T> parser) {
+        parsers.put(type, parser);
+    }
+    
+    /**
+     * Registers a completer, replacing any existing completer for the type.
+     *
+     * @param type      The type of handler parameter to use the completer
+     *                  for.
+     * @param completer The completer.
+     */
+    public void registerCompleter(final Class<?> type, final ArgumentCompleter completer) {
+        completers.put(type, completer);
+    }
+    
+    /**
+     * @param type The type of handler parameter.
+     *
+     * @return The completer for the type, or {@code null} if there is none.
+     */
+    public ArgumentCompleter completerFor(final Class<?> type) {
+        final ArgumentCompleter completer = completers.get(type);
+        if(completer != null || !type.isEnum()) {
+            return completer;
+        }
+        final List<String> names = new ArrayList<>();
+        for(final Object constant : type.getEnumConstants()) {
+            names.add(((Enum<?>) constant).name().toLowerCase(Locale.ROOT));
+        }
+        return completers.computeIfAbsent(type, __ -> ArgumentCompleter.threadSafe((sender, input) -> names));
+    }
+    
+    /**
+     * @param type The type of handler parameter.
+     *
+     * @return The parser for the type, or {@code null} if there is none.
+     */
+    public ArgumentParser<?> forType(final Class<?> type) {
+        final ArgumentParser<?> parser = parsers.get(type);
+        if(parser != null || !type.isEnum()) {
+            return parser;
+        }
+        return enums.computeIfAbsent(type, ArgumentParsers::enumParser);
+    }
+    
+    private static ArgumentParser<?> enumParser(final Class<?> type) {
+        final Map<String, Object> constants = new HashMap<>();
+        for(final Object constant : type.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name().toLowerCase(Locale.ROOT), constant);
+        }
+        return (sender, input) -> {
+            final Object constant = constants.get(input.replace('-', '_').toLowerCase(Locale.ROOT));
+            if(constant == null) {
+                throw new ArgumentParseException("`" + input + "` isn't one of " + String.join(", ", constants.keySet())
+                        + '!');
+            }
+            return constant;
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.Cardboard;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * The parameters of a typed {@link Subcommand} or {@link Default} handler,
+ * and the parser for each of them, worked out once when the command is
+ * loaded.
+ * <p/>
+ * A typed handler may take a {@link CommandContext} anywhere in its
+ * parameter list; every other parameter is filled in from the next argument.
+ * {@link Optional} parameters may be left out, as long as nothing but other
+ * optional parameters come after them, and a {@link Greedy} string takes the
+ * rest of the arguments.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class ArgumentSignature {
+    private final Param[] params;
+    private final ArgumentCompleter[] completers;
+    private final String usage;
+    
+    private ArgumentSignature(final Param[] params, final ArgumentCompleter[] completers, final String usage) {
+        this.params = params;
+        this.completers = completers;
+        this.usage = usage;
+    }
+    
+    /**
+     * @param method The handler method.
+     *
+     * @return Whether the method is a typed handler, as opposed to taking
+     * {@code (String, String[])} or just a {@link CommandContext}.
+     */
+    static boolean isTyped(final Method method) {
+        final Class<?>[] types = method.getParameterTypes();
+        final boolean legacy = types.length == 2 && types[0] == String.class && types[1] == String[].class;
+        final boolean context = types.length == 1 && types[0] == CommandContext.class;
+        return !legacy && !context;
+    }
+    
+    static ArgumentSignature compile(final Method method, final Cardboard cardboard) {
+        final ArgumentParsers parsers = cardboard.getArgumentParsers();
+        final Parameter[] parameters = method.getParameters();
+        final Param[] params = new Param[parameters.length];
+        final List<ArgumentCompleter> completers = new ArrayList<>();
+        final StringJoiner usage = new StringJoiner(" ");
+        boolean seenOptional = false;
+        for(int i = 0; i < parameters.length; i++) {
+            final Parameter parameter = parameters[i];
+            if(parameter.getType() == CommandContext.class) {
+                params[i] = null;
+                continue;
+            }
+            final boolean optional = parameter.getType() == Optional.class;
+            final Class<?> type = optional ? optionalType(method, parameter) : parameter.getType();
+            final boolean greedy = parameter.isAnnotationPresent(Greedy.class);
+            if(greedy && (type != String.class || i != parameters.length - 1)) {
+                throw new IllegalStateException("Only the last parameter of command handler " + describe(method)
+                        + " can be @Greedy, and it must be a String!");
+            }
+            if(seenOptional && !optional) {
+                throw new IllegalStateException("Command handler " + describe(method) + " has a required parameter "
+                        + "after an optional one!");
+            }
+            seenOptional |= optional;
+            final ArgumentParser<?> parser = parsers.forType(type);
+            if(parser == null) {
+                throw new IllegalStateException("Command handler " + describe(method) + " takes a " + type.getName()
+                        + ", but there's no argument parser for that type!");
+            }
+            final String name = (parameter.isNamePresent() ? parameter.getName()
+                    : type.getSimpleName().toLowerCase(Locale.ROOT)) + (greedy ? "..." : "");
+            usage.add(optional ? '[' + name + ']' : '<' + name + '>');
+            params[i] = new Param(parser, optional, greedy);
+            completers.add(parameter.isAnnotationPresent(Completer.class)
+                    ? createCompleter(parameter.getAnnotation(Completer.class).value(), cardboard)
+                    : parsers.completerFor(type));
+        }
+        return new ArgumentSignature(params, completers.toArray(new ArgumentCompleter[0]), usage.toString());
+    }
+    
+    private static ArgumentCompleter createCompleter(final Class<? extends ArgumentCompleter> cls,
+                                                     final Cardboard cardboard) {
+        try {
+            final Constructor<? extends ArgumentCompleter> constructor = cls.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final ArgumentCompleter completer = constructor.newInstance();
+            cardboard.injectComponents(completer);
+            return completer;
+        } catch(final ReflectiveOperationException e) {
+            throw new IllegalStateException("Couldn't create completer " + cls.getName() + "! Does it have a no-args "
+                    + "constructor?", e);
+        }
+    }
+    
+    private static Class<?> optionalType(final Method method, final Parameter parameter) {
+        final Type type = parameter.getParameterizedType();
+        if(type instanceof ParameterizedType p && p.getActualTypeArguments()[0] instanceof Class<?> c) {
+            return c;
+        }
+        throw new IllegalStateException("Command handler " + describe(method) + " takes an Optional, but its type "
+                + "argument isn't a plain class!");
+    }
+    
+    private static String describe(final Method method) {
+        return method.getDeclaringClass().getName() + '#' + method.getName();
+    }
+    
+    /**
+     * @param ctx The context of the execution.
+     *
+     * @return The values of all of the handler's parameters.
+     *
+     * @throws ArgumentParseException If the arguments don't fit the
+     *                                handler.
+     */
+    Object[] parse(final CommandContext ctx) {
+        final Object[] values = new Object[params.length];
+        final Tokenizer tokens = new Tokenizer(ctx.rawArgs(), ctx.offset());
+        for(int i = 0; i < params.length; i++) {
+            final Param param = params[i];
+            if(param == null) {
+                values[i] = ctx;
+            } else if(param.optional && !tokens.hasNext()) {
+                values[i] = Optional.empty();
+            } else {
+                final Object value = param.parser.parse(ctx.sender(), param.greedy ? tokens.rest() : tokens.next());
+                values[i] = param.optional ? Optional.of(value) : value;
+            }
+        }
+        if(tokens.hasNext()) {
+            throw new ArgumentParseException("Too many arguments!");
+        }
+        return values;
+    }
+    
+    /**
+     * @param argument The index of an argument, not counting any
+     *                 {@link CommandContext} parameters.
+     *
+     * @return The completer for the argument, or {@code null} if it has none
+     * or the handler doesn't take that many arguments.
+     */
+    ArgumentCompleter completer(final int argument) {
+        return argument < completers.length ? completers[argument] : null;
+    }
+    
+    /**
+     * @return The arguments the handler takes, ex.
+     * {@code <player> <amount> [reason...]}.
+     */
+    String usage() {
+        return usage;
+    }
+    
+    private record Param(ArgumentParser<?> parser, boolean optional, boolean greedy) {
+    }
+}
@@ -0,0 +1,29 @@
+package gg.amy.mc.cardboard.command;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@link Subcommand} or {@link Default} handler off the main thread,
+ * on {@link gg.amy.mc.cardboard.Cardboard#asyncExecutor()}. Permission
+ * checks and usage errors are still handled on the main thread before the
+ * handler is handed off.
+ * <p/>
+ * Most of the Bukkit API must only be used from the main thread; use
+ * {@link CommandContext#runSync(Runnable)} or
+ * {@link CommandContext#callSync(java.util.function.Supplier)} to get back
+ * onto it.
+ * <p/>
+ * On a {@link CommandScope#SINGLETON} command, several executions of an
+ * async handler can run at once on the same instance, so any state kept in
+ * its fields must be thread-safe.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+}
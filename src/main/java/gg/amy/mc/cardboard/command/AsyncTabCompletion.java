@@ -0,0 +1,125 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Completes cardboard commands from Paper's {@code AsyncTabCompleteEvent},
+ * so that players typing commands in chat get completions without waiting on
+ * the main thread. If a completer that isn't
+ * {@link ArgumentCompleter#isThreadSafe()} is needed, the event is left
+ * alone and the server falls back to {@link CardboardCommand#tabComplete}
+ * on the main thread.
+ * <p/>
+ * The event is only referenced reflectively, since cardboard builds against
+ * the Spigot API.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class AsyncTabCompletion implements Listener {
+    private static final String EVENT = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+    
+    private final Cardboard cardboard;
+    private final Map<String, CardboardCommand> commands = new ConcurrentHashMap<>();
+    private final MethodHandle getBuffer;
+    private final MethodHandle getSender;
+    private final MethodHandle isCommand;
+    private final MethodHandle isHandled;
+    private final MethodHandle setCompletions;
+    private final MethodHandle setHandled;
+    
+    private AsyncTabCompletion(final Cardboard cardboard, final Class<?> event) throws ReflectiveOperationException {
+        this.cardboard = cardboard;
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        getBuffer = lookup.findVirtual(event, "getBuffer", MethodType.methodType(String.class));
+        getSender = lookup.findVirtual(event, "getSender", MethodType.methodType(CommandSender.class));
+        isCommand = lookup.findVirtual(event, "isCommand", MethodType.methodType(boolean.class));
+        isHandled = lookup.findVirtual(event, "isHandled", MethodType.methodType(boolean.class));
+        setCompletions = lookup.findVirtual(event, "setCompletions", MethodType.methodType(void.class, List.class));
+        setHandled = lookup.findVirtual(event, "setHandled", MethodType.methodType(void.class, boolean.class));
+    }
+    
+    /**
+     * @param cardboard The plugin to register the listener for.
+     *
+     * @return The listener, or {@code null} if the server doesn't have
+     * Paper's async tab completion.
+     */
+    @SuppressWarnings("unchecked")
+    public static AsyncTabCompletion register(final Cardboard cardboard) {
+        final Class<? extends Event> event;
+        final AsyncTabCompletion completion;
+        try {
+            event = (Class<? extends Event>) Class.forName(EVENT);
+            completion = new AsyncTabCompletion(cardboard, event);
+        } catch(final ReflectiveOperationException e) {
+            return null;
+        }
+        cardboard.getServer().getPluginManager().registerEvent(event, completion, EventPriority.NORMAL,
+                (listener, e) -> {
+                    if(event.isInstance(e)) {
+                        completion.complete(e);
+                    }
+                }, cardboard, true);
+        return completion;
+    }
+    
+    /**
+     * @param command    A registered command.
+     * @param fallback   The prefix the command was registered with, ex.
+     *                   {@code cardboard} for {@code /cardboard:name}.
+     * @param registered Whether the command got its own name, rather than
+     *                   only being available with the prefix.
+     */
+    public void add(final CardboardCommand command, final String fallback, final boolean registered) {
+        if(registered) {
+            commands.put(command.getName().toLowerCase(Locale.ROOT), command);
+        }
+        // Bukkit has already dropped any aliases that were taken.
+        commands.put((fallback + ':' + command.getName()).toLowerCase(Locale.ROOT), command);
+        for(final String alias : command.getAliases()) {
+            commands.put(alias.toLowerCase(Locale.ROOT), command);
+            commands.put((fallback + ':' + alias).toLowerCase(Locale.ROOT), command);
+        }
+    }
+    
+    private void complete(final Event event) {
+        try {
+            if((boolean) isHandled.invoke(event) || !(boolean) isCommand.invoke(event)) {
+                return;
+            }
+            final String buffer = (String) getBuffer.invoke(event);
+            final int start = buffer.startsWith("/") ? 1 : 0;
+            final int space = buffer.indexOf(' ', start);
+            if(space < 0) {
+                // Still typing the command itself
+                return;
+            }
+            final CardboardCommand command = commands.get(buffer.substring(start, space).toLowerCase(Locale.ROOT));
+            if(command == null) {
+                return;
+            }
+            final List<String> completions = command.complete((CommandSender) getSender.invoke(event),
+                    buffer.substring(space + 1).split(" ", -1), true);
+            if(completions != null) {
+                setCompletions.invoke(event, completions);
+                setHandled.invoke(event, true);
+            }
+        } catch(final Throwable t) {
+            cardboard.getLogger().log(Level.WARNING, "Couldn't tab complete asynchronously", t);
+        }
+    }
+}
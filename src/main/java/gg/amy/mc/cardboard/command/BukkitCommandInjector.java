@@ -1,9 +1,12 @@
 package gg.amy.mc.cardboard.command;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Server;
 import org.bukkit.command.CommandMap;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 
 /**
  * @author amy
@@ -13,16 +16,38 @@ public final class BukkitCommandInjector {
     private final CommandMap commandMap;
     
     public BukkitCommandInjector() {
+        commandMap = findCommandMap(Bukkit.getServer());
+    }
+    
+    private static CommandMap findCommandMap(final Server server) {
+        try {
+            // CraftServer and Paper's API both have getCommandMap(); the
+            // field is a fallback for anything else.
+            final Method getter = server.getClass().getMethod("getCommandMap");
+            getter.setAccessible(true);
+            return (CommandMap) getter.invoke(server);
+        } catch(final NoSuchMethodException ignored) {
+            // Fall back to the field
+        } catch(final IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
         try {
-            final Field field = Bukkit.getServer().getClass().getDeclaredField("commandMap");
+            final Field field = server.getClass().getDeclaredField("commandMap");
             field.setAccessible(true);
-            commandMap = (CommandMap) field.get(Bukkit.getServer());
+            return (CommandMap) field.get(server);
         } catch(final IllegalAccessException | NoSuchFieldException e) {
             throw new IllegalStateException(e);
         }
     }
     
-    public void register(final org.bukkit.command.Command command) {
-        commandMap.register(command.getName(), command.getLabel(), command);
+    /**
+     * @param command The command to register. Its label is used as the
+     *                fallback prefix.
+     *
+     * @return Whether the command got its own name, rather than only being
+     * available with the fallback prefix.
+     */
+    public boolean register(final org.bukkit.command.Command command) {
+        return commandMap.register(command.getName(), command.getLabel(), command);
     }
 }
@@ -1,27 +1,48 @@
 package gg.amy.mc.cardboard.command;
 
 import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.command.HandlerInvokers.HandlerInvoker;
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import gg.amy.mc.cardboard.metrics.Metrics;
+import gg.amy.mc.cardboard.util.MessageTemplate;
 import gg.amy.mc.cardboard.util.MessageUtil;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 
 /**
  * @author amy
  * @since 1/9/20.
  */
 public final class CardboardCommand extends Command {
+    private static final String NO_USAGE = "No usage specified.";
+    
     private final Cardboard cardboard;
     private final Class<?> src;
     private final String permission;
-    private final String permissionMessage;
-    private final Map<String, CardboardSubcommand> subcommands = new HashMap<>();
-    private Method defaultSubcommand = null;
+    private final MessageTemplate commandUsage;
+    private final MessageTemplate permissionMessage;
+    private final CommandInstances instances;
+    private final MessageTemplate loadingMessage;
+    private final MessageTemplate cooldownMessage;
+    private final MessageTemplate rateLimitMessage;
+    /**
+     * Throttles that apply to every handler of the command.
+     */
+    private final Throttle[] throttles;
+    private final CompletableFuture<Void> ready;
+    /**
+     * How long the whole command takes, or {@code null} if metrics are
+     * disabled.
+     */
+    private final LatencyHistogram timing;
+    private final Node root = new Node(null, 0);
     
     public CardboardCommand(final Cardboard cardboard, final Class<?> src, final String name, final String description,
                             final String usageMessage, final List<String> aliases, final String permission,
@@ -30,7 +51,23 @@ public final class CardboardCommand extends Command {
         this.cardboard = cardboard;
         this.src = src;
         this.permission = permission;
-        this.permissionMessage = permissionMessage;
+        // Messages are compiled once here, rather than colour translated
+        // every time they're sent.
+        commandUsage = MessageTemplate.compile(usageMessage);
+        this.permissionMessage = MessageTemplate.compile(permissionMessage);
+        final gg.amy.mc.cardboard.command.Command annotation =
+                src.getDeclaredAnnotation(gg.amy.mc.cardboard.command.Command.class);
+        instances = CommandInstances.forCommand(cardboard, src, annotation);
+        loadingMessage = MessageTemplate.compile(annotation != null ? annotation.loadingMessage()
+                : "That's still loading, try again in a moment!");
+        cooldownMessage = MessageTemplate.compile(annotation != null ? annotation.cooldownMessage()
+                : "&cYou can't do that for another {remaining}!");
+        rateLimitMessage = MessageTemplate.compile(annotation != null ? annotation.rateLimitMessage()
+                : "&cThat's being used too much right now, try again in {remaining}!");
+        throttles = annotation != null ? throttles(new Throttle[0], annotation.cooldown(), annotation.rateLimit())
+                : new Throttle[0];
+        ready = cardboard.whenReady(cardboard.getInjectionPlan(src).autoTypes());
+        timing = cardboard.getMetrics().map(metrics -> metrics.histogram(Metrics.COMMAND, '/' + name)).orElse(null);
     }
     
     @SuppressWarnings("UnusedReturnValue")
@@ -40,91 +77,351 @@ public final class CardboardCommand extends Command {
                 m.setAccessible(true);
                 final Subcommand annotation = m.getAnnotation(Subcommand.class);
                 for(final String name : annotation.value()) {
-                    final String lowerName = name.toLowerCase();
-                    if(subcommands.containsKey(lowerName)) {
-                        throw new IllegalStateException("Attempted to register subcommand '" + lowerName + "' for class "
+                    final Node node = root.child(name.trim().toLowerCase(Locale.ROOT).split("\\s+"));
+                    if(node.handler != null) {
+                        throw new IllegalStateException("Attempted to register subcommand '" + node.path + "' for class "
                                 + src.getName() + ", but it's already been registered!");
                     }
-                    subcommands.put(lowerName, new CardboardSubcommand(lowerName, annotation.desc(),
-                            annotation.usage(), annotation.permissionNode(), m));
+                    node.handler = createHandler(m, node.path, annotation.desc(), annotation.usage(),
+                            annotation.permissionNode(), false,
+                            throttles(throttles, annotation.cooldown(), annotation.rateLimit()));
                 }
             }
             if(m.isAnnotationPresent(Default.class)) {
-                if(defaultSubcommand != null) {
+                if(root.handler != null) {
                     throw new IllegalStateException("Attempted to register default command for class " + src.getName()
                             + ", but it's already been registered!");
                 }
                 m.setAccessible(true);
-                defaultSubcommand = m;
+                root.handler = createHandler(m, null, description, usageMessage, null, true, throttles);
             }
         }
+        root.freeze(getName());
         return this;
     }
     
+    private Throttle[] throttles(final Throttle[] inherited, final String cooldown, final String rateLimit) {
+        final List<Throttle> out = new ArrayList<>(Arrays.asList(inherited));
+        try {
+            // Per-player cooldowns are checked first, so that players who
+            // are spamming a command don't use up the shared rate limit.
+            final Throttle perPlayer = Throttle.cooldown(cooldown, cooldownMessage);
+            if(perPlayer != null) {
+                out.add(0, perPlayer);
+            }
+            final Throttle shared = Throttle.rateLimit(rateLimit, rateLimitMessage);
+            if(shared != null) {
+                out.add(shared);
+            }
+        } catch(final IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid cooldown or rate limit on command class " + src.getName(), e);
+        }
+        return out.toArray(new Throttle[0]);
+    }
+    
+    private CardboardSubcommand createHandler(final Method m, final String path, final String desc, final String usage,
+                                              final String permissionNode, final boolean isDefault,
+                                              final Throttle[] throttles) {
+        final ArgumentSignature signature = ArgumentSignature.isTyped(m)
+                ? ArgumentSignature.compile(m, cardboard) : null;
+        String realUsage = usage;
+        if(signature != null && NO_USAGE.equals(usage)) {
+            realUsage = '/' + getName() + (path != null ? " " + path : "") + ' ' + signature.usage();
+        }
+        final LatencyHistogram timing = cardboard.getMetrics()
+                .map(metrics -> metrics.histogram(Metrics.HANDLER, '/' + getName() + (path != null ? " " + path : "")))
+                .orElse(null);
+        return new CardboardSubcommand(desc, MessageTemplate.compile(realUsage), permissionNode, HandlerInvokers.create(m, isDefault),
+                signature, m.isAnnotationPresent(Async.class), throttles, timing);
+    }
+    
+    /**
+     * Walks the routing tree as far as the arguments match subcommand path
+     * segments.
+     *
+     * @param args  The arguments.
+     * @param limit How many of the arguments may be used for routing.
+     *
+     * @return The deepest node reached. Its depth is the number of arguments
+     * that were consumed.
+     */
+    private Node route(final String[] args, final int limit) {
+        Node node = root;
+        for(int i = 0; i < limit && !node.children.isEmpty(); i++) {
+            final Node child = node.children.get(args[i].toLowerCase(Locale.ROOT));
+            if(child == null) {
+                break;
+            }
+            node = child;
+        }
+        return node;
+    }
+    
     @Override
     public boolean execute(@Nonnull final CommandSender commandSender, @Nonnull final String s, @Nonnull final String[] strings) {
-        if(commandSender.hasPermission(permission) || commandSender.isOp()) {
+        final long start = timing != null ? System.nanoTime() : 0L;
+        if(cardboard.hasPermission(commandSender, permission)) {
+            if(!ready.isDone()) {
+                loadingMessage.send(commandSender);
+                return true;
+            }
+            final boolean ret = executeCommand(commandSender, s, strings);
+            if(!ret) {
+                commandUsage.send(commandSender);
+            }
+        } else {
+            permissionMessage.send(commandSender);
+        }
+        if(timing != null) {
+            timing.record(System.nanoTime() - start);
+        }
+        return true;
+    }
+    
+    @Nonnull
+    @Override
+    public List<String> tabComplete(@Nonnull final CommandSender sender, @Nonnull final String alias,
+                                    @Nonnull final String[] args) {
+        final List<String> completed = complete(sender, args, false);
+        return completed != null ? completed : List.of();
+    }
+    
+    /**
+     * @param sender         The sender tab completing.
+     * @param args           The arguments typed so far. The last one is the
+     *                       one being completed.
+     * @param onlyThreadSafe Whether this is being called off the main thread,
+     *                       and so can only use thread-safe completers.
+     *
+     * @return The completions for the last argument, or {@code null} if a
+     * completer that isn't thread-safe is needed and {@code onlyThreadSafe}
+     * is set.
+     */
+    List<String> complete(final CommandSender sender, final String[] args, final boolean onlyThreadSafe) {
+        if(args.length == 0 || !cardboard.hasPermission(sender, permission)) {
+            return List.of();
+        }
+        // Quoted arguments aren't accounted for here; being a bit off while
+        // someone is still typing a quoted string is fine.
+        final String input = args[args.length - 1];
+        final Node node = route(args, args.length - 1);
+        // Only offer the next path segment if every argument before it was
+        // a path segment too.
+        final List<String> names = node.depth == args.length - 1
+                ? node.completions.complete(sender, input, cardboard::hasPermission) : List.of();
+        final CardboardSubcommand handler = node.handler;
+        if(handler == null || handler.permissionNode != null && !cardboard.hasPermission(sender, handler.permissionNode)) {
+            return names;
+        }
+        final List<String> arguments = completeArgument(handler, sender, args.length - 1 - node.depth, input,
+                onlyThreadSafe);
+        if(arguments == null || arguments.isEmpty()) {
+            return arguments == null ? null : names;
+        }
+        if(names.isEmpty()) {
+            return arguments;
+        }
+        final List<String> both = new ArrayList<>(names);
+        both.addAll(arguments);
+        return both;
+    }
+    
+    private static List<String> completeArgument(final CardboardSubcommand handler, final CommandSender sender,
+                                                 final int argument, final String input, final boolean onlyThreadSafe) {
+        final ArgumentCompleter completer = handler.signature != null ? handler.signature.completer(argument) : null;
+        if(completer == null) {
+            return List.of();
+        }
+        if(onlyThreadSafe && !completer.isThreadSafe()) {
+            return null;
+        }
+        final List<String> completed = new ArrayList<>();
+        for(final String candidate : completer.complete(sender, input)) {
+            if(candidate.regionMatches(true, 0, input, 0, input.length())) {
+                completed.add(candidate);
+            }
+        }
+        return completed;
+    }
+    
+    private boolean executeCommand(final CommandSender sender, final String cmd, final String[] args) {
+        // Everything up to picking the handler and parsing its arguments
+        // happens on the main thread, even for async handlers.
+        final Node node = route(args, args.length);
+        final CardboardSubcommand handler = node.handler;
+        if(handler == null) {
+            if(node == root) {
+                return false;
+            }
+            // Part of a subcommand path, ex. `/guild member`
+            node.usage.send(sender);
+            return true;
+        }
+        if(handler.permissionNode != null && !cardboard.hasPermission(sender, handler.permissionNode)) {
+            permissionMessage.send(sender);
+            return true;
+        }
+        final CommandContext ctx = new CommandContext(cardboard, sender, cmd, args, node.depth, handler.async);
+        final Object[] arguments;
+        if(handler.signature != null) {
             try {
-                final boolean ret = executeCommand(commandSender, s, strings);
-                if(!ret) {
-                    MessageUtil.sendMessage(commandSender, usageMessage);
-                }
-            } catch(final InvocationTargetException | IllegalAccessException e) {
-                throw new IllegalStateException(e);
+                arguments = handler.signature.parse(ctx);
+            } catch(final ArgumentParseException e) {
+                MessageUtil.sendMessage(sender, "&c" + e.getMessage());
+                handler.usage.send(sender);
+                return true;
             }
         } else {
-            MessageUtil.sendMessage(commandSender, permissionMessage);
+            arguments = null;
         }
+        if(isThrottled(sender, handler.throttles)) {
+            return true;
+        }
+        
+        final Object instance = instances.acquire(sender);
+        if(!handler.async) {
+            try {
+                handler.invoke(instance, ctx, arguments);
+            } finally {
+                instances.release(instance);
+            }
+            return true;
+        }
+        CompletableFuture.runAsync(() -> handler.invoke(instance, ctx, arguments), cardboard.asyncExecutor())
+                .whenComplete((__, failure) -> {
+                    instances.release(instance);
+                    if(failure != null) {
+                        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure;
+                        cardboard.getLogger().log(Level.SEVERE, "Unhandled exception executing command '" + cmd
+                                + "' in plugin " + cardboard.getName(), cause);
+                        MessageUtil.sendMessage(sender, "&cAn internal error occurred while attempting to perform "
+                                + "this command");
+                    }
+                });
         return true;
     }
     
-    private boolean executeCommand(final CommandSender sender, final String cmd, final String[] args) throws InvocationTargetException, IllegalAccessException {
-        // TODO: Instead of passing String[] args, parse out quotes etc. for the end-user.
-        final Map<Class<?>, Object> ctx = new HashMap<>();
-        ctx.put(CommandSender.class, sender);
-        if(sender instanceof Player p) {
-            ctx.put(Player.class, p);
-        }
-        final Optional<?> maybeCommand = cardboard.getCommand(src, ctx);
-        if(maybeCommand.isPresent()) {
-            final Object instance = maybeCommand.get();
-            if(args.length == 0) {
-                defaultSubcommand.invoke(instance, cmd, args);
-            } else {
-                final String[] realArgs = new String[args.length - 1];
-                System.arraycopy(args, 1, realArgs, 0, realArgs.length);
-                final CardboardSubcommand sub = subcommands.get(args[0]);
-                if(sub != null) {
-                    if(sender.hasPermission(sub.permissionNode) || sender.isOp()) {
-                        sub.method.invoke(instance, String.join(" ", Arrays.asList(realArgs)), realArgs);
+    /**
+     * Takes a token from each of a handler's throttles, giving them all back
+     * if any of them is out of tokens.
+     *
+     * @return Whether the sender was throttled, and has been told so.
+     */
+    private static boolean isThrottled(final CommandSender sender, final Throttle[] throttles) {
+        if(throttles.length == 0) {
+            return false;
+        }
+        final long now = System.nanoTime();
+        for(int i = 0; i < throttles.length; i++) {
+            final long wait = throttles[i].acquire(sender, now);
+            if(wait > 0) {
+                for(int j = 0; j < i; j++) {
+                    throttles[j].refund(sender);
+                }
+                sender.sendMessage(throttles[i].message(wait));
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * A level of the routing tree. The root is the command itself, and each
+     * segment of a {@link Subcommand} path is a node below it; ex.
+     * {@code "member promote"} is {@code promote} under {@code member}. Any
+     * node may have a handler of its own, which runs when the arguments end
+     * at it or don't match any of its children.
+     */
+    private static final class Node {
+        private final String path;
+        private final int depth;
+        private Map<String, Node> children = new HashMap<>();
+        private CardboardSubcommand handler;
+        private CompletionTrie completions;
+        /**
+         * The permissions of every handler at or below this node, or
+         * {@code null} if one of them doesn't need a permission.
+         */
+        private Set<String> permissions;
+        private MessageTemplate usage;
+        
+        private Node(final String path, final int depth) {
+            this.path = path;
+            this.depth = depth;
+        }
+        
+        private Node child(final String[] segments) {
+            Node node = this;
+            for(final String segment : segments) {
+                final Node parent = node;
+                node = node.children.computeIfAbsent(segment, __ -> new Node(parent.path == null ? segment
+                        : parent.path + ' ' + segment, parent.depth + 1));
+            }
+            return node;
+        }
+        
+        private void freeze(final String command) {
+            permissions = handler == null ? new HashSet<>() : handler.permissionNode != null
+                    ? new HashSet<>(Set.of(handler.permissionNode)) : null;
+            final CompletionTrie.Builder builder = CompletionTrie.builder();
+            for(final Map.Entry<String, Node> entry : children.entrySet()) {
+                final Node child = entry.getValue();
+                child.freeze(command);
+                builder.add(entry.getKey(), child.permissions);
+                if(permissions != null) {
+                    if(child.permissions == null) {
+                        permissions = null;
                     } else {
-                        MessageUtil.sendMessage(sender, permissionMessage);
+                        permissions.addAll(child.permissions);
                     }
-                } else {
-                    defaultSubcommand.invoke(instance, cmd, args);
                 }
             }
-        } else {
-            MessageUtil.sendMessage(sender, usageMessage);
-            throw new IllegalStateException("Asked to execute command of type " + src.getName()
-                    + ", but somehow we don't have a component for it!?");
+            completions = builder.build();
+            children = children.isEmpty() ? Map.of() : Map.copyOf(children);
+            if(handler != null) {
+                usage = handler.usage;
+            } else if(path != null) {
+                usage = MessageTemplate.compile('/' + command + ' ' + path + " <"
+                        + String.join("|", new TreeSet<>(children.keySet())) + '>');
+            }
         }
-        return true;
     }
     
     private static final class CardboardSubcommand {
-        private final String name;
         private final String desc;
-        private final String usage;
+        private final MessageTemplate usage;
         private final String permissionNode;
-        private final Method method;
+        private final HandlerInvoker invoker;
+        private final ArgumentSignature signature;
+        private final boolean async;
+        private final Throttle[] throttles;
+        private final LatencyHistogram timing;
         
-        private CardboardSubcommand(final String name, final String desc, final String usage, final String permissionNode, final Method method) {
-            this.name = name;
+        private CardboardSubcommand(final String desc, final MessageTemplate usage, final String permissionNode,
+                                    final HandlerInvoker invoker, final ArgumentSignature signature, final boolean async,
+                                    final Throttle[] throttles, final LatencyHistogram timing) {
             this.desc = desc;
             this.usage = usage;
             this.permissionNode = permissionNode;
-            this.method = method;
+            this.invoker = invoker;
+            this.signature = signature;
+            this.async = async;
+            this.throttles = throttles;
+            this.timing = timing;
+        }
+        
+        private void invoke(final Object instance, final CommandContext ctx, final Object[] arguments) {
+            if(timing == null) {
+                invoker.invoke(instance, ctx, arguments);
+                return;
+            }
+            final long start = System.nanoTime();
+            try {
+                invoker.invoke(instance, ctx, arguments);
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
         }
     }
 }
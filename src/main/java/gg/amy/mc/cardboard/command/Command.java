@@ -46,4 +46,49 @@ public @interface Command {
      * @return The no-permission message of the command. Optional.
      */
     String permissionMessage() default "You don't have permission to do that!";
-}
\ No newline at end of file
+    
+    /**
+     * @return The message sent when the command is used while a component it
+     * needs is still loading. Optional.
+     */
+    String loadingMessage() default "That's still loading, try again in a moment!";
+    
+    /**
+     * @return How instances of the command are created and reused. Optional.
+     */
+    CommandScope scope() default CommandScope.PROTOTYPE;
+    
+    /**
+     * @return The maximum number of idle instances kept around for
+     * {@link CommandScope#POOLED} commands. Optional.
+     */
+    int poolSize() default 16;
+    
+    /**
+     * @return How long each player has to wait between uses of the command,
+     * ex. {@code 5s} or {@code 1m 30s}, across all of its subcommands.
+     * {@link Subcommand#cooldown()} adds a cooldown to a single subcommand.
+     * Optional.
+     */
+    String cooldown() default "";
+    
+    /**
+     * @return The most uses of the command by all senders together, as
+     * {@code uses/period}, ex. {@code 20/1s}. Uses can come in bursts of up to
+     * {@code uses} at once. Optional.
+     */
+    String rateLimit() default "";
+    
+    /**
+     * @return The message sent to a player on cooldown. {@code {remaining}}
+     * is replaced with how long they have left. Optional.
+     */
+    String cooldownMessage() default "&cYou can't do that for another {remaining}!";
+    
+    /**
+     * @return The message sent when the command is rate limited.
+     * {@code {remaining}} is replaced with how long until it can be used
+     * again. Optional.
+     */
+    String rateLimitMessage() default "&cThat's being used too much right now, try again in {remaining}!";
+}
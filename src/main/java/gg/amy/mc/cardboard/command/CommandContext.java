@@ -0,0 +1,139 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The state of a single command execution. {@link Subcommand} and
+ * {@link Default} handlers can take this as a parameter instead of
+ * {@code (String, String[])}, which is required for
+ * {@link CommandScope#SINGLETON} commands.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class CommandContext {
+    private final Cardboard cardboard;
+    private final CommandSender sender;
+    private final String label;
+    private final String[] rawArgs;
+    private final int offset;
+    private final boolean async;
+    private String[] args;
+    private String joined;
+    
+    CommandContext(final Cardboard cardboard, final CommandSender sender, final String label, final String[] rawArgs,
+                   final int offset, final boolean async) {
+        this.cardboard = cardboard;
+        this.sender = sender;
+        this.label = label;
+        this.rawArgs = rawArgs;
+        this.offset = offset;
+        this.async = async;
+    }
+    
+    /**
+     * @return The sender of the command.
+     */
+    public CommandSender sender() {
+        return sender;
+    }
+    
+    /**
+     * @return The sender as a player, or {@code null} if the sender isn't a
+     * player.
+     */
+    public Player player() {
+        return sender instanceof Player p ? p : null;
+    }
+    
+    /**
+     * @return Whether the sender is a player.
+     */
+    public boolean isPlayer() {
+        return sender instanceof Player;
+    }
+    
+    /**
+     * @return The label the command was executed with.
+     */
+    public String label() {
+        return label;
+    }
+    
+    /**
+     * @return The arguments of the command. For a subcommand, this doesn't
+     * include the subcommand's name.
+     */
+    public String[] args() {
+        if(args == null) {
+            args = offset == 0 ? rawArgs : Arrays.copyOfRange(rawArgs, offset, rawArgs.length);
+        }
+        return args;
+    }
+    
+    /**
+     * @return The arguments, joined with spaces.
+     */
+    public String joinedArgs() {
+        if(joined == null) {
+            joined = String.join(" ", Arrays.asList(rawArgs).subList(offset, rawArgs.length));
+        }
+        return joined;
+    }
+    
+    /**
+     * @return All of the arguments the command was executed with, including
+     * the names of any subcommands.
+     */
+    String[] rawArgs() {
+        return rawArgs;
+    }
+    
+    /**
+     * @return The index in {@link #rawArgs()} that {@link #args()} starts
+     * at.
+     */
+    int offset() {
+        return offset;
+    }
+    
+    /**
+     * @return Whether the handler is running off the main thread, ie. it's
+     * {@link Async}.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+    
+    /**
+     * Runs a task on the main thread. If the handler is already running on
+     * the main thread, the task is run right away.
+     *
+     * @param task The task to run.
+     *
+     * @return A future that completes once the task has run.
+     */
+    public CompletableFuture<Void> runSync(final Runnable task) {
+        return CompletableFuture.runAsync(task, cardboard.mainThread());
+    }
+    
+    /**
+     * Gets a value on the main thread, ex. from the Bukkit API. If the
+     * handler is already running on the main thread, the value is got right
+     * away.
+     *
+     * @param task The task getting the value.
+     * @param <T>  The type of the value.
+     *
+     * @return A future completing with the value.
+     */
+    public <T> CompletableFuture<T> callSync(final Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, cardboard.mainThread());
+    }
+}
@@ -0,0 +1,140 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands out instances of a command class according to its
+ * {@link CommandScope}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+abstract class CommandInstances {
+    protected final Cardboard cardboard;
+    protected final Class<?> src;
+    
+    private CommandInstances(final Cardboard cardboard, final Class<?> src) {
+        this.cardboard = cardboard;
+        this.src = src;
+    }
+    
+    static CommandInstances forCommand(final Cardboard cardboard, final Class<?> src, final Command annotation) {
+        if(annotation == null) {
+            return new Prototype(cardboard, src);
+        }
+        return switch(annotation.scope()) {
+            case PROTOTYPE -> new Prototype(cardboard, src);
+            case SINGLETON -> new Singleton(cardboard, src);
+            case POOLED -> new Pooled(cardboard, src, annotation.poolSize());
+        };
+    }
+    
+    protected static Map<Class<?>, Object> context(final CommandSender sender) {
+        final Map<Class<?>, Object> ctx = new HashMap<>();
+        ctx.put(CommandSender.class, sender);
+        if(sender instanceof Player p) {
+            ctx.put(Player.class, p);
+        }
+        return ctx;
+    }
+    
+    protected Object create(final Map<Class<?>, ?> ctx) {
+        return cardboard.getCommand(src, ctx).orElseThrow(() -> new IllegalStateException(
+                "Asked to execute command of type " + src.getName() + ", but somehow we don't have a component for it!?"));
+    }
+    
+    /**
+     * @param sender The sender executing the command.
+     *
+     * @return A fully-injected instance to execute the command with.
+     */
+    abstract Object acquire(CommandSender sender);
+    
+    /**
+     * Called once the execution that acquired the instance is done with it.
+     *
+     * @param instance The instance.
+     */
+    void release(final Object instance) {
+    }
+    
+    private static final class Prototype extends CommandInstances {
+        private Prototype(final Cardboard cardboard, final Class<?> src) {
+            super(cardboard, src);
+        }
+        
+        @Override
+        Object acquire(final CommandSender sender) {
+            return create(context(sender));
+        }
+    }
+    
+    private static final class Singleton extends CommandInstances {
+        private volatile Object instance;
+        
+        private Singleton(final Cardboard cardboard, final Class<?> src) {
+            super(cardboard, src);
+            for(final Class<?> type : cardboard.getInjectionPlan(src).autoTypes()) {
+                if(CommandSender.class.isAssignableFrom(type)) {
+                    throw new IllegalStateException("Singleton command " + src.getName() + " wants a " + type.getName()
+                            + " injected, but singleton commands are shared by all senders! Take a CommandContext "
+                            + "parameter instead.");
+                }
+            }
+        }
+        
+        @Override
+        Object acquire(final CommandSender sender) {
+            // Created on first use, since the components it needs may not be
+            // ready at registration.
+            Object local = instance;
+            if(local == null) {
+                synchronized(this) {
+                    local = instance;
+                    if(local == null) {
+                        local = create(Map.of());
+                        cardboard.watchConfig(local);
+                        instance = local;
+                    }
+                }
+            }
+            return local;
+        }
+    }
+    
+    private static final class Pooled extends CommandInstances {
+        private final BlockingQueue<Object> idle;
+        
+        private Pooled(final Cardboard cardboard, final Class<?> src, final int poolSize) {
+            super(cardboard, src);
+            idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        }
+        
+        @Override
+        Object acquire(final CommandSender sender) {
+            final Object instance = idle.poll();
+            if(instance == null) {
+                final Object created = create(context(sender));
+                cardboard.watchConfig(created);
+                return created;
+            }
+            cardboard.injectComponents(instance, context(sender));
+            return instance;
+        }
+        
+        @Override
+        void release(final Object instance) {
+            // Don't keep senders alive while the instance sits in the pool.
+            cardboard.getInjectionPlan(src).clearComponents(instance);
+            // If the pool is already full, the instance is just dropped.
+            idle.offer(instance);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package gg.amy.mc.cardboard.command;
+
+/**
+ * Controls how many instances of a {@link Command} class exist, and how long
+ * they live.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public enum CommandScope {
+    /**
+     * A new instance is constructed and injected for every execution. The
+     * sender is available via {@link gg.amy.mc.cardboard.di.Auto} fields.
+     * This is the default.
+     */
+    PROTOTYPE,
+    /**
+     * A single instance is constructed and injected once, and shared by all
+     * executions. Since the instance outlives any one execution, it can't
+     * have the sender injected into fields; handlers must take a
+     * {@link CommandContext} parameter instead. {@link Async} handlers can
+     * run concurrently on the shared instance, so its fields must be
+     * thread-safe if they're used from them.
+     */
+    SINGLETON,
+    /**
+     * Instances are constructed and config-injected once, then reused across
+     * executions, up to {@link Command#poolSize()} idle instances.
+     * {@link gg.amy.mc.cardboard.di.Auto} fields are re-injected for every
+     * execution, and cleared when the instance goes back into the pool.
+     * Pooled commands must not hold on to per-execution state in other
+     * fields.
+     */
+    POOLED
+}
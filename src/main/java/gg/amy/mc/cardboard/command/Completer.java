@@ -0,0 +1,21 @@
+package gg.amy.mc.cardboard.command;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the {@link ArgumentCompleter} for a single parameter of a typed
+ * handler, instead of the one registered for the parameter's type. The
+ * completer is created once, when the command is loaded, and can have
+ * components injected with {@link gg.amy.mc.cardboard.di.Auto}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Completer {
+    Class<? extends ArgumentCompleter> value();
+}
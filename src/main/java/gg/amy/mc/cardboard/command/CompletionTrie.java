@@ -0,0 +1,119 @@
+package gg.amy.mc.cardboard.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * A prefix trie over the names of one level of a command's routing tree, for
+ * tab completion. Every node keeps the sorted list of names below it, so
+ * completing a prefix is a walk down the prefix followed by a permission
+ * check per candidate; nothing is sorted or searched per request.
+ * <p/>
+ * Tries are immutable once built, so they're safe to query from any thread.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class CompletionTrie {
+    private final Node root;
+    
+    private CompletionTrie(final Node root) {
+        this.root = root;
+    }
+    
+    static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * @param sender The sender to complete for.
+     * @param prefix The prefix typed so far. Case-insensitive.
+     * @param check  Checks whether the sender has a permission.
+     *
+     * @return The names starting with the prefix that the sender has
+     * permission for, in alphabetical order.
+     */
+    List<String> complete(final CommandSender sender, final String prefix,
+                          final BiPredicate<CommandSender, String> check) {
+        Node node = root;
+        for(int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(Character.toLowerCase(prefix.charAt(i)));
+        }
+        if(node == null) {
+            return List.of();
+        }
+        final List<String> out = new ArrayList<>(node.entries.length);
+        for(final Entry entry : node.entries) {
+            if(entry.isVisibleTo(sender, check)) {
+                out.add(entry.name);
+            }
+        }
+        return out;
+    }
+    
+    static final class Builder {
+        private final SortedMap<String, Entry> entries = new TreeMap<>();
+        
+        private Builder() {
+        }
+        
+        /**
+         * @param name        The name to complete to.
+         * @param permissions The permissions that make it visible; having
+         *                    any one of them is enough. {@code null} if
+         *                    anyone can see it.
+         *
+         * @return This builder.
+         */
+        Builder add(final String name, final Collection<String> permissions) {
+            entries.put(name.toLowerCase(Locale.ROOT), new Entry(name,
+                    permissions != null ? permissions.toArray(new String[0]) : null));
+            return this;
+        }
+        
+        CompletionTrie build() {
+            final MutableNode root = new MutableNode();
+            for(final Entry entry : entries.values()) {
+                // Entries come out of the map sorted, so every node's list
+                // ends up sorted too.
+                MutableNode node = root;
+                node.entries.add(entry);
+                for(final char c : entry.name.toLowerCase(Locale.ROOT).toCharArray()) {
+                    node = node.children.computeIfAbsent(c, __ -> new MutableNode());
+                    node.entries.add(entry);
+                }
+            }
+            return new CompletionTrie(root.freeze());
+        }
+    }
+    
+    private record Entry(String name, String[] permissions) {
+        private boolean isVisibleTo(final CommandSender sender, final BiPredicate<CommandSender, String> check) {
+            if(permissions == null) {
+                return true;
+            }
+            for(final String permission : permissions) {
+                if(check.test(sender, permission)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private record Node(Map<Character, Node> children, Entry[] entries) {
+    }
+    
+    private static final class MutableNode {
+        private final Map<Character, MutableNode> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        
+        private Node freeze() {
+            final Map<Character, Node> frozen = new HashMap<>(children.size() * 2);
+            children.forEach((c, child) -> frozen.put(c, child.freeze()));
+            return new Node(frozen, entries.toArray(new Entry[0]));
+        }
+    }
+}
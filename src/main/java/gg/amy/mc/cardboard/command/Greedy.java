@@ -0,0 +1,19 @@
+package gg.amy.mc.cardboard.command;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the last {@link String} parameter of a typed handler take the rest
+ * of the arguments, spaces and all, instead of a single argument. Ex. the
+ * reason in {@code /kick <player> <reason...>}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Greedy {
+}
@@ -0,0 +1,198 @@
+package gg.amy.mc.cardboard.command;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Turns {@link Subcommand} and {@link Default} methods into plain functional
+ * interface calls. Where possible, the implementation is spun up with
+ * {@link LambdaMetafactory}, so a handler call is an ordinary interface call
+ * that the JIT can inline through. If that isn't possible (ex. static
+ * handlers, or cardboard not being able to get full access to the command
+ * class), this falls back to a {@link MethodHandle}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class HandlerInvokers {
+    private static final Logger LOGGER = Logger.getLogger(HandlerInvokers.class.getName());
+    private static final MethodType LEGACY_TYPE = MethodType.methodType(void.class, Object.class, String.class, String[].class);
+    private static final MethodType CONTEXT_TYPE = MethodType.methodType(void.class, Object.class, CommandContext.class);
+    private static final MethodType TYPED_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+    
+    private HandlerInvokers() {
+    }
+    
+    /**
+     * @param method    The handler method. Must take either
+     *                  {@code (String, String[])}, {@code (CommandContext)},
+     *                  or typed parameters (see {@link ArgumentSignature}).
+     * @param isDefault Whether this is the {@link Default} handler. Legacy
+     *                  default handlers get the label as their first
+     *                  argument, whereas subcommands get the joined args.
+     *
+     * @return An invoker for the method.
+     */
+    static HandlerInvoker create(final Method method, final boolean isDefault) {
+        if(ArgumentSignature.isTyped(method)) {
+            return typed(method);
+        } else if(method.getParameterCount() == 1) {
+            final ContextHandler handler = context(method);
+            return (instance, ctx, arguments) -> handler.handle(instance, ctx);
+        } else {
+            final LegacyHandler handler = legacy(method);
+            if(isDefault) {
+                return (instance, ctx, arguments) -> handler.handle(instance, ctx.label(), ctx.args());
+            } else {
+                return (instance, ctx, arguments) -> handler.handle(instance, ctx.joinedArgs(), ctx.args());
+            }
+        }
+    }
+    
+    /**
+     * Handlers with typed parameters can't be generated with
+     * {@link LambdaMetafactory}, as there's no interface to implement, so
+     * they're called through a method handle that spreads the parsed
+     * arguments over the parameters.
+     */
+    private static HandlerInvoker typed(final Method method) {
+        final MethodHandle spreader;
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if(Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            spreader = handle.asType(handle.type().generic().changeReturnType(void.class))
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(TYPED_TYPE);
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create an invoker for " + method.getDeclaringClass().getName()
+                    + '#' + method.getName(), e);
+        }
+        return (instance, ctx, arguments) -> {
+            try {
+                spreader.invokeExact(instance, arguments);
+            } catch(final Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+    
+    /**
+     * @param method A handler method taking {@code (String, String[])}.
+     *
+     * @return A generated handler calling the method.
+     */
+    public static LegacyHandler legacy(final Method method) {
+        return generate(method, LegacyHandler.class, LEGACY_TYPE);
+    }
+    
+    /**
+     * @param method A handler method taking {@code (CommandContext)}.
+     *
+     * @return A generated handler calling the method.
+     */
+    public static ContextHandler context(final Method method) {
+        return generate(method, ContextHandler.class, CONTEXT_TYPE);
+    }
+    
+    private static <T> T generate(final Method method, final Class<T> iface, final MethodType samType) {
+        final Class<?> src = method.getDeclaringClass();
+        if(!Modifier.isStatic(method.getModifiers())) {
+            final CallSite site;
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(src, MethodHandles.lookup());
+                final MethodHandle impl = lookup.unreflect(method);
+                site = LambdaMetafactory.metafactory(lookup, "handle", MethodType.methodType(iface), samType, impl,
+                        samType.changeParameterType(0, src));
+            } catch(final ReflectiveOperationException | LambdaConversionException | IllegalArgumentException
+                    | SecurityException | LinkageError e) {
+                LOGGER.log(Level.FINE, "Couldn't generate an invoker for " + src.getName() + '#' + method.getName()
+                        + ", falling back to a method handle", e);
+                return fallback(method, iface, samType);
+            }
+            try {
+                return iface.cast(site.getTarget().invoke());
+            } catch(final Throwable t) {
+                throw new IllegalStateException("Couldn't create an invoker for " + src.getName() + '#'
+                        + method.getName(), t);
+            }
+        }
+        return fallback(method, iface, samType);
+    }
+    
+    private static <T> T fallback(final Method method, final Class<T> iface, final MethodType samType) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if(Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            final MethodHandle exact = handle.asType(samType);
+            if(iface == LegacyHandler.class) {
+                return iface.cast((LegacyHandler) (instance, s, args) -> invokeUnchecked(exact, instance, s, args));
+            } else {
+                return iface.cast((ContextHandler) (instance, ctx) -> invokeUnchecked(exact, instance, ctx));
+            }
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create an invoker for " + method.getDeclaringClass().getName()
+                    + '#' + method.getName(), e);
+        }
+    }
+    
+    private static void invokeUnchecked(final MethodHandle handle, final Object instance, final String s,
+                                        final String[] args) {
+        try {
+            handle.invokeExact(instance, s, args);
+        } catch(final Throwable t) {
+            throw sneakyThrow(t);
+        }
+    }
+    
+    private static void invokeUnchecked(final MethodHandle handle, final Object instance, final CommandContext ctx) {
+        try {
+            handle.invokeExact(instance, ctx);
+        } catch(final Throwable t) {
+            throw sneakyThrow(t);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(final Throwable t) throws E {
+        throw (E) t;
+    }
+    
+    /**
+     * Calls a {@code (String, String[])} handler.
+     */
+    @FunctionalInterface
+    public interface LegacyHandler {
+        void handle(Object instance, String s, String[] args);
+    }
+    
+    /**
+     * Calls a {@code (CommandContext)} handler.
+     */
+    @FunctionalInterface
+    public interface ContextHandler {
+        void handle(Object instance, CommandContext ctx);
+    }
+    
+    /**
+     * Calls a handler of any supported shape with the given context.
+     */
+    @FunctionalInterface
+    interface HandlerInvoker {
+        /**
+         * @param instance  The command instance.
+         * @param ctx       The context of the execution.
+         * @param arguments The values of all of the handler's parameters,
+         *                  for typed handlers, or {@code null} otherwise.
+         */
+        void invoke(Object instance, CommandContext ctx, Object[] arguments);
+    }
+}
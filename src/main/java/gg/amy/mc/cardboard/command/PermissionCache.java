@@ -0,0 +1,208 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Caches the permission checks made while dispatching and tab completing
+ * commands, per player and permission node. Decisions are dropped when
+ * they're older than the TTL, when the player quits or changes world, and
+ * when LuckPerms recalculates the player's (or any group's) permissions, if
+ * it's installed. Other permission plugins can call {@link #invalidate(UUID)}
+ * themselves, or rely on the TTL.
+ * <p/>
+ * Only players are cached; the console and command blocks are checked
+ * directly. The cache holds at most a fixed number of decisions, dropping
+ * the least recently used ones first.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class PermissionCache implements Listener {
+    private static final String LUCKPERMS = "LuckPerms";
+    
+    private final Cardboard cardboard;
+    private final long ttl;
+    private final Map<Key, Decision> decisions;
+    /**
+     * Bumped on every invalidation, so that a decision that was being
+     * computed while it happened isn't cached.
+     */
+    private long generation;
+    private boolean subscribed;
+    
+    private PermissionCache(final Cardboard cardboard, final int maxSize, final Duration ttl) {
+        this.cardboard = cardboard;
+        this.ttl = ttl.toNanos();
+        decisions = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Decision> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    /**
+     * @param cardboard The plugin to cache permission checks for.
+     * @param maxSize   The most decisions to keep.
+     * @param ttl       How long a decision is kept for.
+     *
+     * @return The cache, listening for the events that invalidate it.
+     */
+    public static PermissionCache register(final Cardboard cardboard, final int maxSize, final Duration ttl) {
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException("Permission cache size must be positive, got " + maxSize);
+        }
+        if(ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Permission cache TTL must be positive, got " + ttl);
+        }
+        final PermissionCache cache = new PermissionCache(cardboard, maxSize, ttl);
+        cardboard.getServer().getPluginManager().registerEvents(cache, cardboard);
+        if(cardboard.getServer().getPluginManager().isPluginEnabled(LUCKPERMS)) {
+            cache.subscribeLuckPerms();
+        }
+        return cache;
+    }
+    
+    /**
+     * @param sender     The sender to check.
+     * @param permission The permission node.
+     *
+     * @return Whether the sender has the permission or is op.
+     */
+    public boolean hasPermission(final CommandSender sender, final String permission) {
+        if(!(sender instanceof Player player)) {
+            return sender.hasPermission(permission) || sender.isOp();
+        }
+        final Key key = new Key(player.getUniqueId(), permission);
+        final long now = System.nanoTime();
+        final long seen;
+        synchronized(decisions) {
+            final Decision cached = decisions.get(key);
+            if(cached != null && now - cached.expiresAt < 0) {
+                return cached.allowed;
+            }
+            seen = generation;
+        }
+        // Asking the permission plugin can be slow, so don't hold the lock
+        // while doing it.
+        final boolean allowed = player.hasPermission(permission) || player.isOp();
+        synchronized(decisions) {
+            if(generation == seen) {
+                decisions.put(key, new Decision(allowed, now + ttl));
+            }
+        }
+        return allowed;
+    }
+    
+    /**
+     * Drops every cached decision for a player, ex. after changing their
+     * permissions.
+     *
+     * @param player The player's UUID.
+     */
+    public void invalidate(final UUID player) {
+        synchronized(decisions) {
+            generation++;
+            decisions.keySet().removeIf(key -> key.player.equals(player));
+        }
+    }
+    
+    /**
+     * Drops every cached decision, ex. after changing a group's permissions.
+     */
+    public void invalidateAll() {
+        synchronized(decisions) {
+            generation++;
+            decisions.clear();
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(final PlayerChangedWorldEvent event) {
+        // Permissions can be per-world
+        invalidate(event.getPlayer().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(final PluginEnableEvent event) {
+        if(LUCKPERMS.equals(event.getPlugin().getName())) {
+            subscribeLuckPerms();
+        }
+    }
+    
+    /**
+     * LuckPerms has its own event bus, and is only referenced reflectively
+     * since cardboard doesn't depend on it.
+     */
+    @SuppressWarnings("rawtypes")
+    private synchronized void subscribeLuckPerms() {
+        if(subscribed) {
+            return;
+        }
+        try {
+            final Class<?> luckPerms = Class.forName("net.luckperms.api.LuckPerms");
+            final Class<?> eventBus = Class.forName("net.luckperms.api.event.EventBus");
+            final Class<?> userEvent = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+            final Class<?> groupEvent = Class.forName("net.luckperms.api.event.group.GroupDataRecalculateEvent");
+            final Class<?> user = Class.forName("net.luckperms.api.model.user.User");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodHandle getUser = lookup.findVirtual(userEvent, "getUser", MethodType.methodType(user));
+            final MethodHandle getUniqueId = lookup.findVirtual(user, "getUniqueId", MethodType.methodType(UUID.class));
+            
+            final Object api = Class.forName("net.luckperms.api.LuckPermsProvider").getMethod("get").invoke(null);
+            final Object bus = luckPerms.getMethod("getEventBus").invoke(api);
+            final Method subscribe = eventBus.getMethod("subscribe", Object.class, Class.class, Consumer.class);
+            subscribe.invoke(bus, cardboard, userEvent, (Consumer) event -> {
+                try {
+                    invalidate((UUID) getUniqueId.invoke(getUser.invoke(event)));
+                } catch(final Throwable t) {
+                    // Better to drop too much than to keep a stale decision
+                    invalidateAll();
+                }
+            });
+            subscribe.invoke(bus, cardboard, groupEvent, (Consumer) event -> invalidateAll());
+            subscribed = true;
+        } catch(final ClassNotFoundException e) {
+            // LuckPerms isn't installed
+        } catch(final InvocationTargetException e) {
+            if(!(e.getCause() instanceof IllegalStateException)) {
+                cardboard.getLogger().log(Level.WARNING, "Couldn't listen for LuckPerms permission changes!", e.getCause());
+            }
+            // Otherwise LuckPerms hasn't loaded yet; onPluginEnable will try
+            // again once it has.
+        } catch(final ReflectiveOperationException e) {
+            cardboard.getLogger().log(Level.WARNING, "Couldn't listen for LuckPerms permission changes!", e);
+        }
+    }
+    
+    private record Key(UUID player, String permission) {
+    }
+    
+    private record Decision(boolean allowed, long expiresAt) {
+    }
+}
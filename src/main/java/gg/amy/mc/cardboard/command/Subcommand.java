@@ -13,7 +13,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Subcommand {
     /**
-     * @return The name(s) of the subcommand. Required.
+     * @return The name(s) of the subcommand. Required. A name may be a path
+     * of several space-separated segments, ex. {@code "member promote"} for
+     * {@code /guild member promote}; each segment is a level of the
+     * command's routing tree. Segments are case-insensitive.
      */
     String[] value();
     
@@ -31,4 +34,20 @@ public @interface Subcommand {
      * @return The permission node of the command. Optional.
      */
     String permissionNode();
-}
\ No newline at end of file
+    
+    /**
+     * @return How long each player has to wait between uses of the
+     * subcommand, ex. {@code 5s}. Applies on top of
+     * {@link Command#cooldown()}, and uses {@link Command#cooldownMessage()}.
+     * Optional.
+     */
+    String cooldown() default "";
+    
+    /**
+     * @return The most uses of the subcommand by all senders together, as
+     * {@code uses/period}, ex. {@code 20/1s}. Applies on top of
+     * {@link Command#rateLimit()}, and uses
+     * {@link Command#rateLimitMessage()}. Optional.
+     */
+    String rateLimit() default "";
+}
@@ -0,0 +1,165 @@
+package gg.amy.mc.cardboard.command;
+
+import gg.amy.mc.cardboard.util.DurationUtil;
+import gg.amy.mc.cardboard.util.MessageTemplate;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cooldown or rate limit on a command handler, as a token bucket. It's
+ * implemented with the generic cell rate algorithm, so the whole state of a
+ * bucket is a single {@link AtomicLong} (the time at which it'll next be
+ * full) that's updated with a compare-and-set; nothing is locked, and
+ * nothing needs to refill buckets in the background.
+ * <p/>
+ * Cooldowns are per player, and other senders aren't throttled by them.
+ * Rate limits are shared by every sender. Players whose buckets are full
+ * again are forgotten every so often, so the map of them stays about as big
+ * as the number of players actively using the command.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class Throttle {
+    private static final long SWEEP_INTERVAL = Duration.ofMinutes(1).toNanos();
+    
+    private final long emission;
+    private final long tolerance;
+    private final MessageTemplate message;
+    private final AtomicLong shared;
+    private final Map<UUID, AtomicLong> players;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    
+    private Throttle(final long period, final int count, final boolean perPlayer, final MessageTemplate message) {
+        emission = period / count;
+        // A full bucket allows `count` uses in a burst.
+        tolerance = period - emission;
+        this.message = message;
+        shared = perPlayer ? null : new AtomicLong(System.nanoTime());
+        players = perPlayer ? new ConcurrentHashMap<>() : null;
+    }
+    
+    /**
+     * @param cooldown The cooldown, ex. {@code 5s}, or an empty string for
+     *                 none.
+     * @param message  The message sent to throttled senders.
+     *
+     * @return The throttle, or {@code null} if there's no cooldown.
+     *
+     * @throws IllegalArgumentException If the cooldown isn't a duration.
+     */
+    static Throttle cooldown(final String cooldown, final MessageTemplate message) {
+        if(cooldown.isEmpty()) {
+            return null;
+        }
+        return new Throttle(positive(DurationUtil.parse(cooldown), cooldown), 1, true, message);
+    }
+    
+    /**
+     * @param rateLimit The rate limit, as {@code uses/period}, ex.
+     *                  {@code 20/1s}, or an empty string for none.
+     * @param message   The message sent to throttled senders.
+     *
+     * @return The throttle, or {@code null} if there's no rate limit.
+     *
+     * @throws IllegalArgumentException If the rate limit is invalid.
+     */
+    static Throttle rateLimit(final String rateLimit, final MessageTemplate message) {
+        if(rateLimit.isEmpty()) {
+            return null;
+        }
+        final int slash = rateLimit.indexOf('/');
+        if(slash < 0) {
+            throw new IllegalArgumentException("Not a rate limit, expected uses/period: " + rateLimit);
+        }
+        final int count;
+        try {
+            count = Integer.parseInt(rateLimit.substring(0, slash).trim());
+        } catch(final NumberFormatException e) {
+            throw new IllegalArgumentException("Not a rate limit, expected uses/period: " + rateLimit, e);
+        }
+        if(count <= 0) {
+            throw new IllegalArgumentException("Rate limit must allow at least one use: " + rateLimit);
+        }
+        return new Throttle(positive(DurationUtil.parse(rateLimit.substring(slash + 1)), rateLimit), count, false,
+                message);
+    }
+    
+    private static long positive(final Duration duration, final String input) {
+        if(duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Throttle period must be positive: " + input);
+        }
+        return duration.toNanos();
+    }
+    
+    /**
+     * Takes a token from the sender's bucket, if there is one.
+     *
+     * @param sender The sender using the command.
+     * @param now    The current {@link System#nanoTime()}.
+     *
+     * @return {@code 0} if the sender may use the command, or how many
+     * nanoseconds until they can otherwise.
+     */
+    long acquire(final CommandSender sender, final long now) {
+        final AtomicLong bucket;
+        if(shared != null) {
+            bucket = shared;
+        } else if(sender instanceof Player player) {
+            sweep(now);
+            bucket = players.computeIfAbsent(player.getUniqueId(), __ -> new AtomicLong(now));
+        } else {
+            return 0;
+        }
+        while(true) {
+            final long full = bucket.get();
+            final long next = Math.max(full - now, 0) + now + emission;
+            final long wait = next - now - emission - tolerance;
+            if(wait > 0) {
+                return wait;
+            }
+            if(bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Gives back a token taken by {@link #acquire(CommandSender, long)}, ex.
+     * when another throttle on the same handler refused the sender.
+     *
+     * @param sender The sender.
+     */
+    void refund(final CommandSender sender) {
+        final AtomicLong bucket = shared != null ? shared
+                : sender instanceof Player player ? players.get(player.getUniqueId()) : null;
+        if(bucket != null) {
+            bucket.addAndGet(-emission);
+        }
+    }
+    
+    /**
+     * @param wait How long the sender has to wait, in nanoseconds.
+     *
+     * @return The message to send the sender, colour translated.
+     */
+    String message(final long wait) {
+        return message.render("remaining", DurationUtil.format(Duration.ofNanos(wait)));
+    }
+    
+    private void sweep(final long now) {
+        final long last = lastSweep.get();
+        if(now - last < SWEEP_INTERVAL || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        // A player using the command while their bucket is being removed
+        // may get one use for free; that's fine for a cooldown.
+        players.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
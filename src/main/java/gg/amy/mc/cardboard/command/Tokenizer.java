@@ -0,0 +1,78 @@
+package gg.amy.mc.cardboard.command;
+
+import java.util.Arrays;
+
+/**
+ * Reads the arguments of a command one token at a time. Arguments are
+ * already split on spaces by Bukkit, so a token is normally just the next
+ * non-empty argument, and is returned without copying it. Only tokens that
+ * are wrapped in double quotes, and so may span several arguments (ex.
+ * {@code "hello world"}), are put back together.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class Tokenizer {
+    private final String[] args;
+    private int position;
+    
+    Tokenizer(final String[] args, final int offset) {
+        this.args = args;
+        position = offset;
+    }
+    
+    private void skipEmpty() {
+        while(position < args.length && args[position].isEmpty()) {
+            position++;
+        }
+    }
+    
+    boolean hasNext() {
+        skipEmpty();
+        return position < args.length;
+    }
+    
+    /**
+     * @return The next token, with any quotes removed.
+     *
+     * @throws ArgumentParseException If there's no next token, or it has an
+     *                                opening quote but no closing quote.
+     */
+    String next() {
+        if(!hasNext()) {
+            throw new ArgumentParseException("Not enough arguments!");
+        }
+        final String first = args[position++];
+        if(first.charAt(0) != '"') {
+            return first;
+        }
+        if(first.length() > 1 && first.charAt(first.length() - 1) == '"') {
+            return first.substring(1, first.length() - 1);
+        }
+        // Bukkit splits on every space, so empty arguments inside quotes
+        // were extra spaces.
+        final StringBuilder builder = new StringBuilder(first.length() * 4).append(first, 1, first.length());
+        while(position < args.length) {
+            final String arg = args[position++];
+            builder.append(' ');
+            if(!arg.isEmpty() && arg.charAt(arg.length() - 1) == '"') {
+                return builder.append(arg, 0, arg.length() - 1).toString();
+            }
+            builder.append(arg);
+        }
+        throw new ArgumentParseException("Missing a closing quote after " + first + '!');
+    }
+    
+    /**
+     * @return All remaining arguments, exactly as they were typed.
+     */
+    String rest() {
+        if(!hasNext()) {
+            throw new ArgumentParseException("Not enough arguments!");
+        }
+        final String rest = position == args.length - 1 ? args[position]
+                : String.join(" ", Arrays.asList(args).subList(position, args.length));
+        position = args.length;
+        return rest;
+    }
+}
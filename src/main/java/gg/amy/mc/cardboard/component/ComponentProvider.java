@@ -0,0 +1,19 @@
+package gg.amy.mc.cardboard.component;
+
+import java.util.Map;
+
+/**
+ * Supplies instances of a registered component.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@FunctionalInterface
+public interface ComponentProvider {
+    /**
+     * @param ctx Extra values available for injection, keyed by type.
+     *
+     * @return An instance of the component.
+     */
+    Object get(Map<Class<?>, ?> ctx);
+}
@@ -0,0 +1,139 @@
+package gg.amy.mc.cardboard.component;
+
+import java.util.*;
+
+/**
+ * Maps every type a component can be looked up by - its own class, and all
+ * of its superclasses and interfaces - to the provider for that component.
+ * The mapping is worked out once in {@link #build()}, so lookups are a
+ * single hash lookup.
+ * <p/>
+ * Lookups prefer {@link Single} components over instanced ones, and an
+ * exact match over a subclass among each. This means a {@link Single}
+ * subclass of an instanced component is found even when asking for the
+ * instanced component's own class. If more than one component matches at
+ * the same level, the lookup is ambiguous and fails rather than picking
+ * one.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ComponentRegistry {
+    private final Map<Class<?>, ComponentProvider> exact = new HashMap<>();
+    private final Set<Class<?>> singles = new HashSet<>();
+    private final Map<Class<?>, List<Class<?>>> singleSupertypes = new HashMap<>();
+    private final Map<Class<?>, List<Class<?>>> instancedSupertypes = new HashMap<>();
+    private volatile Map<Class<?>, Object> resolved = Map.of();
+    
+    /**
+     * Registers a component. {@link #build()} must be called afterwards for
+     * the component to be found by lookups.
+     *
+     * @param cls      The class of the component.
+     * @param single   Whether this is a {@link Single} component.
+     * @param provider The provider for the component.
+     */
+    public void register(final Class<?> cls, final boolean single, final ComponentProvider provider) {
+        if(exact.put(cls, provider) != null) {
+            throw new IllegalStateException("Component " + cls.getName() + " was registered twice!");
+        }
+        if(single) {
+            singles.add(cls);
+        }
+        final Map<Class<?>, List<Class<?>>> supertypes = single ? singleSupertypes : instancedSupertypes;
+        for(final Class<?> type : supertypes(cls)) {
+            supertypes.computeIfAbsent(type, __ -> new ArrayList<>()).add(cls);
+        }
+    }
+    
+    /**
+     * Rebuilds the lookup table from everything registered so far.
+     */
+    public void build() {
+        final Map<Class<?>, Object> table = new HashMap<>();
+        resolveInto(table, instancedSupertypes);
+        for(final Class<?> cls : exact.keySet()) {
+            if(!singles.contains(cls)) {
+                table.put(cls, cls);
+            }
+        }
+        // Singletons win over instanced components, so they go on top.
+        resolveInto(table, singleSupertypes);
+        for(final Class<?> cls : singles) {
+            table.put(cls, cls);
+        }
+        resolved = table;
+    }
+    
+    private void resolveInto(final Map<Class<?>, Object> table, final Map<Class<?>, List<Class<?>>> supertypes) {
+        supertypes.forEach((type, candidates) -> {
+            if(candidates.size() == 1) {
+                table.put(type, candidates.get(0));
+            } else {
+                table.put(type, new Ambiguous(List.copyOf(candidates)));
+            }
+        });
+    }
+    
+    /**
+     * @param type The type to look up.
+     *
+     * @return The provider of the only component assignable to the type, or
+     * {@code null} if there is no such component.
+     *
+     * @throws IllegalStateException If several components match.
+     */
+    public ComponentProvider lookup(final Class<?> type) {
+        final Object match = resolved.get(type);
+        if(match instanceof Ambiguous ambiguous) {
+            final StringJoiner names = new StringJoiner(", ");
+            for(final Class<?> candidate : ambiguous.candidates) {
+                names.add(candidate.getName());
+            }
+            throw new IllegalStateException("Ambiguous component type " + type.getName() + ": it's implemented by "
+                    + names + ". Ask for the specific component class instead.");
+        }
+        return match != null ? exact.get((Class<?>) match) : null;
+    }
+    
+    /**
+     * @param type The type to look up.
+     *
+     * @return The class of the only component assignable to the type, or
+     * {@code null} if there is no such component or several match.
+     */
+    public Class<?> componentClass(final Class<?> type) {
+        return resolved.get(type) instanceof Class<?> cls ? cls : null;
+    }
+    
+    /**
+     * @param cls A component class.
+     *
+     * @return Whether the class was registered as a component.
+     */
+    public boolean contains(final Class<?> cls) {
+        return exact.containsKey(cls);
+    }
+    
+    private static Set<Class<?>> supertypes(final Class<?> cls) {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        final Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(cls);
+        while(!queue.isEmpty()) {
+            final Class<?> next = queue.poll();
+            // Everything is an Object; indexing that would just make it ambiguous.
+            if(next == Object.class || !types.add(next)) {
+                continue;
+            }
+            if(next.getSuperclass() != null) {
+                queue.add(next.getSuperclass());
+            }
+            queue.addAll(Arrays.asList(next.getInterfaces()));
+        }
+        types.remove(cls);
+        return types;
+    }
+    
+    private record Ambiguous(List<Class<?>> candidates) {
+    }
+}
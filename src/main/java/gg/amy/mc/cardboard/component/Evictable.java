@@ -0,0 +1,41 @@
+package gg.amy.mc.cardboard.component;
+
+/**
+ * A {@link PerPlayer} component that needs to clean up after itself when
+ * its instance is dropped, ex. to save the player's data.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@FunctionalInterface
+public interface Evictable {
+    /**
+     * Called once the instance has been dropped, so it will never be handed
+     * out again. Called on the main thread, except for
+     * {@link Reason#CAPACITY} evictions, which happen on whichever thread
+     * created the instance that took its place.
+     *
+     * @param reason Why the instance was dropped.
+     */
+    void evict(Reason reason);
+    
+    enum Reason {
+        /**
+         * The player left the server.
+         */
+        QUIT,
+        /**
+         * The instance wasn't used for {@link PerPlayer#idleTimeout()}.
+         */
+        IDLE,
+        /**
+         * There were more than {@link PerPlayer#maxPlayers()} instances, and
+         * this one was used least recently.
+         */
+        CAPACITY,
+        /**
+         * The plugin was disabled.
+         */
+        DISABLE,
+    }
+}
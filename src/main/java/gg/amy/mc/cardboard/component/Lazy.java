@@ -0,0 +1,33 @@
+package gg.amy.mc.cardboard.component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts off constructing and initialising a {@link Single} component until
+ * it's first needed, ex. by {@link gg.amy.mc.cardboard.Cardboard#getComponent(Class)}
+ * or an {@link gg.amy.mc.cardboard.di.Auto} field, instead of during startup.
+ * Useful for components that only back rarely used features, ex. an admin
+ * command.
+ * <p/>
+ * A lazy component's {@link Single} dependencies are loaded first, and it
+ * waits for them to be ready; if one failed to load, so does it. It's
+ * initialised with {@link LoadableComponent#doInit()} on whichever thread
+ * first uses it, while that thread waits.
+ * {@link LoadableComponent#earlyInit()} isn't called, and neither is
+ * {@link LoadableComponent#initAsync()}. A lazy component that another,
+ * non-lazy component lists as a dependency is loaded during startup anyway.
+ * <p/>
+ * Listeners and singleton commands with an {@link gg.amy.mc.cardboard.di.Auto}
+ * field for a lazy component load it while they're being registered, so
+ * lazy components are best used from instanced components and commands.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+}
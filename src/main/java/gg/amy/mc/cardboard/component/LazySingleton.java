@@ -0,0 +1,85 @@
+package gg.amy.mc.cardboard.component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Holds a {@link Lazy} component, creating it the first time it's asked for.
+ * Creating it is synchronized, so concurrent first uses wait for the same
+ * instance; after that, getting it is a volatile read.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class LazySingleton implements ComponentProvider {
+    private final Class<?> cls;
+    private final Runnable dependencies;
+    private final Supplier<Object> factory;
+    private volatile Object instance;
+    /**
+     * Whether the component is being created, to catch it needing itself
+     * while it's injected. Only touched while holding the lock.
+     */
+    private boolean loading;
+    
+    /**
+     * @param cls          The class of the component.
+     * @param dependencies Loads the component's dependencies and waits for
+     *                     them. Run without holding the lock, since it can
+     *                     take a while, or throw if they aren't ready.
+     * @param factory      Creates and initialises the component. If it
+     *                     throws, the next use tries again.
+     */
+    public LazySingleton(final Class<?> cls, final Runnable dependencies, final Supplier<Object> factory) {
+        this.cls = cls;
+        this.dependencies = dependencies;
+        this.factory = factory;
+    }
+    
+    /**
+     * @return The component, created if this is its first use.
+     *
+     * @throws IllegalStateException If the component needs itself to be
+     *                               created, ex. through a cycle of
+     *                               {@link gg.amy.mc.cardboard.di.Auto}
+     *                               fields, or one of its dependencies
+     *                               failed or isn't ready yet.
+     */
+    public Object get() {
+        Object local = instance;
+        if(local == null) {
+            // Waiting on a dependency while holding the lock would block
+            // everyone else asking for this component, including the main
+            // thread that dependency may need to finish.
+            dependencies.run();
+            synchronized(this) {
+                local = instance;
+                if(local == null) {
+                    if(loading) {
+                        throw new IllegalStateException("Lazy component " + cls.getName() + " needs itself to load!");
+                    }
+                    loading = true;
+                    try {
+                        local = factory.get();
+                    } finally {
+                        loading = false;
+                    }
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+    
+    @Override
+    public Object get(final Map<Class<?>, ?> ctx) {
+        return get();
+    }
+    
+    /**
+     * @return Whether the component has been created yet.
+     */
+    public boolean isLoaded() {
+        return instance != null;
+    }
+}
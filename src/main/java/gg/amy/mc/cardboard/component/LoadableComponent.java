@@ -1,5 +1,7 @@
 package gg.amy.mc.cardboard.component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author amy
  * @since 1/9/20.
@@ -10,6 +12,11 @@ public abstract class LoadableComponent {
         return init();
     }
     
+    public final CompletableFuture<Boolean> doInitAsync() {
+        loadConfig();
+        return initAsync();
+    }
+    
     /**
      * This method is a no-op by default; most configuration should be
      * trivially autoconfigured via {@link gg.amy.mc.cardboard.config.Config}.
@@ -22,7 +29,9 @@ public abstract class LoadableComponent {
     }
     
     /**
-     * Inits this component very early in the init process. This only applies
+     * Inits this component very early in the init process, during the
+     * plugin's {@code onLoad}, right after all singletons are constructed.
+     * Nothing has been injected into the component yet. This only applies
      * to {@link Single} components. You might use this if you're messing with
      * the internals of the server.
      * <p/>
@@ -34,4 +43,21 @@ public abstract class LoadableComponent {
     public boolean init() {
         return true;
     }
+    
+    /**
+     * Inits this component asynchronously. By default, this just calls
+     * {@link #init()}. Override this instead of {@link #init()} to load data
+     * in the background without blocking the server during enable; any
+     * {@link Single} components that depend on this one are only initialised
+     * once the returned future completes.
+     * <p/>
+     * Commands that use a component that isn't ready yet will tell the
+     * sender that it's still loading, and listeners that use it won't be
+     * registered until it is.
+     *
+     * @return A future completing with whether init succeeded.
+     */
+    public CompletableFuture<Boolean> initAsync() {
+        return CompletableFuture.completedFuture(init());
+    }
 }
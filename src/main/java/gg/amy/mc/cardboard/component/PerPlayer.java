@@ -0,0 +1,42 @@
+package gg.amy.mc.cardboard.component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives an instanced {@link Component} one instance per online player,
+ * instead of a new one every time it's looked up. The instance is created
+ * the first time the component is resolved for a player, ex. by an
+ * {@link gg.amy.mc.cardboard.di.Auto} field of a command run by them, or by
+ * {@code getComponent(cls, Map.of(Player.class, player))}, and is kept
+ * until they leave. The player is available to the component's own
+ * {@code @Auto Player} field.
+ * <p/>
+ * Resolving the component without a {@link org.bukkit.entity.Player} in the
+ * context, ex. for a listener or a command run from the console, fails.
+ * Components that implement {@link Evictable} are told when their instance
+ * is dropped.
+ *
+ * @author amy
+ * @since 10/18/26.
+ * @see PlayerScope
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PerPlayer {
+    /**
+     * @return The most players to keep instances for. Once there are more,
+     * the instance that was used least recently is evicted. {@code 0} for no
+     * limit. Optional.
+     */
+    int maxPlayers() default 0;
+    
+    /**
+     * @return How long an instance can go unused before it's evicted, even
+     * if the player is still online, ex. {@code 10m}. Empty to keep
+     * instances until the player leaves. Optional.
+     */
+    String idleTimeout() default "";
+}
@@ -0,0 +1,231 @@
+package gg.amy.mc.cardboard.component;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.util.DurationUtil;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Holds the instances of a {@link PerPlayer} component, by player. Instances
+ * are kept in access order, the same way
+ * {@link gg.amy.mc.cardboard.command.PermissionCache} keeps decisions, so
+ * evicting the least recently used one when over
+ * {@link PerPlayer#maxPlayers()} is cheap. Idle instances are swept on a
+ * repeating task, and a player's instance is dropped when they quit. Once a
+ * player starts quitting, instances created for them aren't kept.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class PlayerScope implements ComponentProvider, Listener {
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long MIN_SWEEP_TICKS = 20L;
+    private static final long MAX_SWEEP_TICKS = 1200L;
+    
+    private final Cardboard cardboard;
+    private final Class<?> cls;
+    private final ComponentProvider factory;
+    private final long idleTimeout;
+    private final Map<UUID, Instance> instances;
+    /**
+     * Players who are quitting. They still count as online until the quit
+     * event is over, so instances aren't cached for them until the tick
+     * after. Only touched while holding the lock on {@link #instances}.
+     */
+    private final Set<UUID> quitting = new HashSet<>();
+    /**
+     * The instance pushed out by the last insert, if it went over the cap.
+     * Only touched while holding the lock on {@link #instances}.
+     */
+    private Object overflow;
+    
+    /**
+     * @param cardboard The plugin the component belongs to.
+     * @param cls       The component's class.
+     * @param factory   Creates and injects new instances.
+     *
+     * @throws IllegalArgumentException If the class' {@link PerPlayer}
+     *                                  options are invalid.
+     */
+    public PlayerScope(final Cardboard cardboard, final Class<?> cls, final ComponentProvider factory) {
+        this.cardboard = cardboard;
+        this.cls = cls;
+        this.factory = factory;
+        final PerPlayer annotation = cls.getDeclaredAnnotation(PerPlayer.class);
+        if(annotation.maxPlayers() < 0) {
+            throw new IllegalArgumentException("@PerPlayer component " + cls.getName()
+                    + " can't have a negative maxPlayers, got " + annotation.maxPlayers());
+        }
+        idleTimeout = annotation.idleTimeout().isEmpty() ? 0L : DurationUtil.parse(annotation.idleTimeout()).toNanos();
+        final int maxPlayers = annotation.maxPlayers();
+        instances = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, Instance> eldest) {
+                if(maxPlayers > 0 && size() > maxPlayers) {
+                    overflow = eldest.getValue().instance;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Starts listening for players leaving, and sweeping idle instances if
+     * {@link PerPlayer#idleTimeout()} is set.
+     */
+    public void start() {
+        cardboard.getServer().getPluginManager().registerEvents(this, cardboard);
+        if(idleTimeout > 0) {
+            final long period = Math.max(MIN_SWEEP_TICKS, Math.min(MAX_SWEEP_TICKS, idleTimeout / TICK_NANOS / 4));
+            cardboard.getServer().getScheduler().runTaskTimer(cardboard, this::sweep, period, period);
+        }
+    }
+    
+    /**
+     * @param ctx Extra values available for injection. Must have a
+     *            {@link Player} keyed by {@code Player.class}.
+     *
+     * @return The player's instance, created if they don't have one yet.
+     *
+     * @throws IllegalStateException If there's no player in the context.
+     */
+    @Override
+    public Object get(final Map<Class<?>, ?> ctx) {
+        if(!(ctx.get(Player.class) instanceof Player player)) {
+            throw new IllegalStateException("@PerPlayer component " + cls.getName()
+                    + " can only be used with a player, ex. from a command run by one!");
+        }
+        final UUID id = player.getUniqueId();
+        synchronized(instances) {
+            final Instance existing = instances.get(id);
+            if(existing != null) {
+                existing.lastUsed = System.nanoTime();
+                return existing.instance;
+            }
+        }
+        // Created without holding the lock, since injecting it can take a while.
+        final Object created = factory.get(ctx);
+        final Object evicted;
+        synchronized(instances) {
+            if(quitting.contains(id) || !player.isOnline()) {
+                // They're leaving or left while it was being created, so it
+                // would never be evicted.
+                return created;
+            }
+            final Instance raced = instances.get(id);
+            if(raced != null) {
+                raced.lastUsed = System.nanoTime();
+                return raced.instance;
+            }
+            instances.put(id, new Instance(created, System.nanoTime()));
+            evicted = overflow;
+            overflow = null;
+        }
+        if(evicted != null) {
+            evict(evicted, Evictable.Reason.CAPACITY);
+        }
+        return created;
+    }
+    
+    /**
+     * @return How many players have an instance.
+     */
+    public int size() {
+        synchronized(instances) {
+            return instances.size();
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        final UUID id = event.getPlayer().getUniqueId();
+        synchronized(instances) {
+            quitting.add(id);
+        }
+        remove(id);
+        // Anything that got in after this listener, ex. a later MONITOR
+        // listener, is cleared up once they're really offline.
+        cardboard.getServer().getScheduler().runTask(cardboard, () -> {
+            synchronized(instances) {
+                quitting.remove(id);
+            }
+            remove(id);
+        });
+    }
+    
+    private void remove(final UUID id) {
+        final Instance removed;
+        synchronized(instances) {
+            removed = instances.remove(id);
+        }
+        if(removed != null) {
+            evict(removed.instance, Evictable.Reason.QUIT);
+        }
+    }
+    
+    private void sweep() {
+        final long now = System.nanoTime();
+        final List<Object> idle = new ArrayList<>();
+        synchronized(instances) {
+            // Least recently used first, so everything after the first
+            // instance that's still in use is too.
+            final Iterator<Instance> iterator = instances.values().iterator();
+            while(iterator.hasNext()) {
+                final Instance entry = iterator.next();
+                if(now - entry.lastUsed < idleTimeout) {
+                    break;
+                }
+                idle.add(entry.instance);
+                iterator.remove();
+            }
+        }
+        idle.forEach(instance -> evict(instance, Evictable.Reason.IDLE));
+    }
+    
+    /**
+     * Drops every instance. Called when the plugin is disabled.
+     */
+    public void close() {
+        final List<Instance> all;
+        synchronized(instances) {
+            all = new ArrayList<>(instances.values());
+            instances.clear();
+            quitting.clear();
+        }
+        all.forEach(entry -> evict(entry.instance, Evictable.Reason.DISABLE));
+    }
+    
+    private void evict(final Object instance, final Evictable.Reason reason) {
+        if(instance instanceof Evictable e) {
+            try {
+                e.evict(reason);
+            } catch(final Throwable t) {
+                cardboard.getLogger().log(Level.SEVERE, "Failed evicting @PerPlayer component " + cls.getName(), t);
+            }
+        }
+    }
+    
+    private static final class Instance {
+        private final Object instance;
+        private long lastUsed;
+        
+        private Instance(final Object instance, final long lastUsed) {
+            this.instance = instance;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
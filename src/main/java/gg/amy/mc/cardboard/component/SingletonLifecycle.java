@@ -0,0 +1,154 @@
+package gg.amy.mc.cardboard.component;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.util.DirectedGraph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * Injects and initialises {@link Single} components in dependency order,
+ * tracking when each one is ready.
+ * <p/>
+ * Every component goes through two stages:
+ * <ul>
+ *     <li><b>Settled</b>: its {@link LoadableComponent#doInitAsync()} has
+ *     been called and has returned, or it's waiting on a dependency whose
+ *     init is still running in the background.</li>
+ *     <li><b>Ready</b>: its init future has completed. Components are only
+ *     initialised once all of their dependencies are ready.</li>
+ * </ul>
+ * {@link Cardboard} waits for everything to settle during
+ * {@code onEnable}, but not for everything to be ready, so components that
+ * load in the background don't hold up the server.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class SingletonLifecycle {
+    private final Cardboard cardboard;
+    private final Map<Class<?>, CompletableFuture<Void>> ready = new ConcurrentHashMap<>();
+    
+    public SingletonLifecycle(final Cardboard cardboard) {
+        this.cardboard = cardboard;
+    }
+    
+    /**
+     * Starts initialising the singletons.
+     *
+     * @param graph      The dependency graph of the singletons.
+     * @param order      The singletons, dependencies first.
+     * @param singletons The singleton instances.
+     * @param executor   The executor to initialise components on, as long
+     *                   as their dependencies are already ready. Components
+     *                   whose dependencies finish in the background are
+     *                   initialised on the main thread instead.
+     *
+     * @return A future that completes once every singleton has settled. It
+     * completes exceptionally if any init call threw.
+     */
+    public CompletableFuture<Void> start(final DirectedGraph<Class<?>> graph, final List<Class<?>> order,
+                                         final Map<Class<?>, Object> singletons, final Executor executor) {
+        final Map<Class<?>, CompletableFuture<Void>> settled = new HashMap<>();
+        for(final Class<?> cls : order) {
+            final CompletableFuture<Void> clsSettled = new CompletableFuture<>();
+            final CompletableFuture<Void> clsReady = new CompletableFuture<>();
+            final Object instance = singletons.get(cls);
+            final List<CompletableFuture<Void>> depsSettled = new ArrayList<>();
+            final List<CompletableFuture<Void>> depsReady = new ArrayList<>();
+            for(final Class<?> dep : graph.edgesFrom(cls)) {
+                depsSettled.add(settled.get(dep));
+                depsReady.add(ready.get(dep));
+            }
+            settled.put(cls, clsSettled);
+            ready.put(cls, clsReady);
+            
+            final CompletableFuture<?> allSettled = CompletableFuture.allOf(depsSettled.toArray(CompletableFuture[]::new));
+            final CompletableFuture<?> allReady = CompletableFuture.allOf(depsReady.toArray(CompletableFuture[]::new));
+            allSettled.whenCompleteAsync((__, failure) -> {
+                if(failure != null) {
+                    clsSettled.completeExceptionally(failure);
+                    clsReady.completeExceptionally(failure);
+                } else if(allReady.isDone()) {
+                    try {
+                        initAfterDependencies(cls, instance, allReady, clsReady);
+                        clsSettled.complete(null);
+                    } catch(final Throwable t) {
+                        clsSettled.completeExceptionally(t);
+                        clsReady.completeExceptionally(t);
+                    }
+                } else {
+                    // Something we need is loading in the background, so we
+                    // can't be initialised during enable anymore.
+                    clsSettled.complete(null);
+                    allReady.whenCompleteAsync((___, ____) -> {
+                        try {
+                            initAfterDependencies(cls, instance, allReady, clsReady);
+                        } catch(final Throwable t) {
+                            cardboard.getLogger().log(Level.SEVERE, "Failed loading component " + cls.getName(), t);
+                            clsReady.completeExceptionally(t);
+                        }
+                    }, cardboard.mainThread());
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(settled.values().toArray(new CompletableFuture<?>[0]));
+    }
+    
+    private void initAfterDependencies(final Class<?> cls, final Object instance, final CompletableFuture<?> depsReady,
+                                       final CompletableFuture<Void> clsReady) {
+        if(depsReady.isCompletedExceptionally()) {
+            // Only background inits can fail without failing enable, and
+            // those have already been logged.
+            cardboard.getLogger().severe("Not loading component " + cls.getName()
+                    + ": one of its dependencies failed to load!");
+            clsReady.completeExceptionally(new IllegalStateException("Dependency of " + cls.getName() + " failed"));
+            return;
+        }
+        if(instance == null) {
+            // Construction failed; that's already been logged.
+            clsReady.complete(null);
+            return;
+        }
+        final long start = System.nanoTime();
+        cardboard.getStartupProfile().ifPresent(profile -> clsReady.whenComplete((__, ___) ->
+                profile.initialised(cls, start, System.nanoTime())));
+        cardboard.injectConfig(instance);
+        cardboard.watchConfig(instance);
+        cardboard.injectComponents(instance);
+        if(instance instanceof LoadableComponent l) {
+            l.doInitAsync().whenComplete((success, failure) -> {
+                if(failure != null) {
+                    cardboard.getLogger().log(Level.SEVERE, "Failed loading component "
+                            + cardboard.getComponentName(instance) + ": " + cardboard.getComponentDescription(instance),
+                            failure);
+                    clsReady.completeExceptionally(failure);
+                    return;
+                }
+                if(success) {
+                    cardboard.getLogger().info("Loaded component " + cardboard.getComponentName(instance) + ": "
+                            + cardboard.getComponentDescription(instance));
+                } else {
+                    cardboard.getLogger().warning("Failed loading component " + cardboard.getComponentName(instance)
+                            + ": " + cardboard.getComponentDescription(instance));
+                }
+                clsReady.complete(null);
+            });
+        } else {
+            clsReady.complete(null);
+        }
+    }
+    
+    /**
+     * @param cls A singleton class.
+     *
+     * @return A future that completes once the singleton is ready. Classes
+     * that aren't managed by this lifecycle are always ready.
+     */
+    public CompletableFuture<Void> whenReady(final Class<?> cls) {
+        return ready.getOrDefault(cls, CompletableFuture.completedFuture(null));
+    }
+}
@@ -6,15 +6,32 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
+ * On a field, injects the value at the given path. On a record or interface,
+ * marks it as a config schema that {@link ConfigBinder} can bind sections
+ * to, and gives the section {@link gg.amy.mc.cardboard.Cardboard#bindConfig(Class)}
+ * reads from. On a record component or interface method of a schema,
+ * overrides the key the value is read from.
+ *
  * @author amy
  * @since 1/9/20.
  */
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Config {
-    String value();
+    /**
+     * @return The path of the value. An empty path is the whole file.
+     */
+    String value() default "";
     
     String file() default "config.yml";
     
     boolean coloured() default false;
+    
+    /**
+     * @return On a field, whether to bind the value as strictly as a record
+     * component: a missing value fails injection instead of injecting
+     * {@code null}, and collections are immutable. Records and
+     * {@link Config} interfaces are always bound strictly.
+     */
+    boolean strict() default false;
 }
@@ -0,0 +1,474 @@
+package gg.amy.mc.cardboard.config;
+
+import gg.amy.mc.cardboard.util.DurationUtil;
+import gg.amy.mc.cardboard.util.MessageTemplate;
+import gg.amy.mc.cardboard.util.MessageUtil;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.*;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Binds config sections to immutable, typed snapshots.
+ * <p/>
+ * Supported types are:
+ * <ul>
+ *     <li>Records, with one config key per component.</li>
+ *     <li>Interfaces annotated with {@link Config}, with one config key per
+ *     abstract no-args method. Default methods can derive values from
+ *     those.</li>
+ *     <li>{@link List}, {@link Set}, and {@link Map} (with {@link String}
+ *     keys) of any supported type.</li>
+ *     <li>{@link Optional} of any supported type, for values that may be
+ *     missing.</li>
+ *     <li>Enums, matched ignoring case, and {@link Duration}s.</li>
+ *     <li>Strings, primitives, and their boxes, and {@link MessageTemplate}s,
+ *     which are always coloured.</li>
+ * </ul>
+ * By default, each key is the name of the record component or method. A
+ * {@link Config} annotation on the component or method overrides the key,
+ * and can ask for a string to be coloured.
+ * <p/>
+ * How to convert each type is worked out once, so binding is just walking
+ * the section. The whole snapshot is validated as it's bound: missing
+ * values (that aren't {@link Optional}), values of the wrong type, and
+ * anything thrown by a record's constructor all fail binding with an
+ * {@link IllegalArgumentException} naming the offending path.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ConfigBinder {
+    private static final ClassValue<Binding> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Binding computeValue(final Class<?> type) {
+            return type.isRecord() ? new RecordBinding(type) : new InterfaceBinding(type);
+        }
+    };
+    
+    private static final Set<Class<?>> BOXES = Set.of(Boolean.class, Integer.class, Long.class, Short.class,
+            Byte.class, Double.class, Float.class);
+    
+    private ConfigBinder() {
+    }
+    
+    /**
+     * @param type A type.
+     *
+     * @return Whether the type should be bound by this class, rather than
+     * read with the plain {@link ConfigurationSection} getters. Collections
+     * and {@link Optional}s are only bindable if what they hold is supported.
+     */
+    public static boolean isBindable(final Type type) {
+        if(type instanceof ParameterizedType p) {
+            final Type raw = p.getRawType();
+            final Type[] args = p.getActualTypeArguments();
+            if(raw == List.class || raw == Set.class || raw == Optional.class) {
+                return isSupported(args[0]);
+            }
+            return raw == Map.class && args[0] == String.class && isSupported(args[1]);
+        }
+        if(type instanceof Class<?> cls) {
+            return isSchema(cls) || cls.isEnum() || cls == Duration.class || cls == MessageTemplate.class;
+        }
+        return false;
+    }
+    
+    /**
+     * @param type A type.
+     *
+     * @return Whether the type is a record or {@link Config} interface.
+     */
+    public static boolean isSchema(final Type type) {
+        return type instanceof Class<?> cls
+                && (cls.isRecord() || cls.isInterface() && cls.isAnnotationPresent(Config.class));
+    }
+    
+    private static boolean isSupported(final Type type) {
+        if(type instanceof Class<?> cls && (cls == String.class || cls.isPrimitive() || BOXES.contains(cls))) {
+            return true;
+        }
+        return isBindable(type);
+    }
+    
+    /**
+     * @param type     The type to bind.
+     * @param coloured Whether strings should have colour codes translated.
+     *
+     * @return A converter binding values at a path to the type. Missing
+     * values fail binding, and collections are immutable.
+     *
+     * @throws IllegalArgumentException If the type can't be bound.
+     */
+    public static ConfigConverter converter(final Type type, final boolean coloured) {
+        final Binding binding = binding(type, coloured);
+        return (config, path) -> binding.bind(config.get(path), path);
+    }
+    
+    /**
+     * Like {@link #converter(Type, boolean)}, but for plain {@link Config}
+     * fields that have always been allowed to be missing: a missing value
+     * reads as {@code null} (or an empty {@link Optional}), and a top-level
+     * list, set, or map is a mutable copy. Values that are there are still
+     * converted and checked.
+     *
+     * @param type     The type to bind.
+     * @param coloured Whether strings should have colour codes translated.
+     *
+     * @return A converter binding values at a path to the type.
+     *
+     * @throws IllegalArgumentException If the type can't be bound.
+     */
+    public static ConfigConverter lenientConverter(final Type type, final boolean coloured) {
+        final Binding binding = binding(type, coloured);
+        final boolean optional = type instanceof ParameterizedType p && p.getRawType() == Optional.class;
+        return (config, path) -> {
+            final Object raw = config.get(path);
+            if(raw == null && !optional) {
+                return null;
+            }
+            final Object value = binding.bind(raw, path);
+            if(value instanceof List<?> list) {
+                return new ArrayList<>(list);
+            } else if(value instanceof Set<?> set) {
+                return new LinkedHashSet<>(set);
+            } else if(value instanceof Map<?, ?> map) {
+                return new LinkedHashMap<>(map);
+            }
+            return value;
+        };
+    }
+    
+    /**
+     * @param config The config to read from.
+     * @param path   The path of the section to bind. An empty path binds
+     *               the whole config.
+     * @param type   The record or {@link Config} interface to bind to.
+     * @param <T>    The type to bind to.
+     *
+     * @return The snapshot.
+     *
+     * @throws IllegalArgumentException If the type can't be bound, or the
+     *                                  config doesn't fit it.
+     */
+    public static <T> T bind(final ConfigurationSection config, final String path, final Class<T> type) {
+        if(!isSchema(type)) {
+            throw new IllegalArgumentException(type.getName() + " isn't a record or @Config interface!");
+        }
+        return type.cast(SCHEMAS.get(type).bind(config.get(path), path));
+    }
+    
+    private static Binding binding(final Type type, final boolean coloured) {
+        if(type instanceof ParameterizedType p) {
+            final Type rawType = p.getRawType();
+            final Type[] args = p.getActualTypeArguments();
+            if(rawType == List.class) {
+                final Binding element = binding(args[0], coloured);
+                return (raw, path) -> List.copyOf(elements(raw, path, element));
+            } else if(rawType == Set.class) {
+                final Binding element = binding(args[0], coloured);
+                return (raw, path) -> Collections.unmodifiableSet(new LinkedHashSet<>(elements(raw, path, element)));
+            } else if(rawType == Map.class) {
+                if(args[0] != String.class) {
+                    throw new IllegalArgumentException("Config maps must have String keys, not " + args[0].getTypeName());
+                }
+                final Binding value = binding(args[1], coloured);
+                return (raw, path) -> map(raw, path, value);
+            } else if(rawType == Optional.class) {
+                final Binding value = binding(args[0], coloured);
+                return (raw, path) -> raw == null ? Optional.empty() : Optional.of(value.bind(raw, path));
+            }
+        } else if(type instanceof Class<?> cls) {
+            if(cls == String.class) {
+                return (raw, path) -> {
+                    if(raw instanceof String || raw instanceof Number || raw instanceof Boolean) {
+                        final String string = raw.toString();
+                        return coloured ? MessageUtil.colour(string) : string;
+                    }
+                    throw invalid(path, "a string", raw);
+                };
+            } else if(cls == MessageTemplate.class) {
+                return (raw, path) -> {
+                    if(raw instanceof String || raw instanceof Number || raw instanceof Boolean) {
+                        return MessageTemplate.compile(raw.toString());
+                    }
+                    throw invalid(path, "a string", raw);
+                };
+            } else if(cls == boolean.class || cls == Boolean.class) {
+                return (raw, path) -> {
+                    if(raw instanceof Boolean) {
+                        return raw;
+                    }
+                    throw invalid(path, "true or false", raw);
+                };
+            } else if(cls == int.class || cls == Integer.class) {
+                return (raw, path) -> (int) integer(raw, path, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            } else if(cls == long.class || cls == Long.class) {
+                return (raw, path) -> integer(raw, path, Long.MIN_VALUE, Long.MAX_VALUE);
+            } else if(cls == short.class || cls == Short.class) {
+                return (raw, path) -> (short) integer(raw, path, Short.MIN_VALUE, Short.MAX_VALUE);
+            } else if(cls == byte.class || cls == Byte.class) {
+                return (raw, path) -> (byte) integer(raw, path, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            } else if(cls == double.class || cls == Double.class) {
+                return (raw, path) -> number(raw, path).doubleValue();
+            } else if(cls == float.class || cls == Float.class) {
+                return (raw, path) -> number(raw, path).floatValue();
+            } else if(cls == Duration.class) {
+                return ConfigBinder::duration;
+            } else if(cls.isEnum()) {
+                return enumBinding(cls);
+            } else if(isSchema(cls)) {
+                return SCHEMAS.get(cls);
+            }
+        }
+        throw new IllegalArgumentException("Can't bind config values to " + type.getTypeName());
+    }
+    
+    private static List<Object> elements(final Object raw, final String path, final Binding element) {
+        if(!(raw instanceof List<?> list)) {
+            throw invalid(path, "a list", raw);
+        }
+        final List<Object> out = new ArrayList<>(list.size());
+        for(int i = 0; i < list.size(); i++) {
+            out.add(element.bind(list.get(i), path + '[' + i + ']'));
+        }
+        return out;
+    }
+    
+    private static Map<String, Object> map(final Object raw, final String path, final Binding value) {
+        final Map<String, Object> out = new LinkedHashMap<>();
+        if(raw instanceof ConfigurationSection section) {
+            for(final String key : section.getKeys(false)) {
+                out.put(key, value.bind(section.get(key), child(path, key)));
+            }
+        } else if(raw instanceof Map<?, ?> map) {
+            for(final Map.Entry<?, ?> entry : map.entrySet()) {
+                final String key = String.valueOf(entry.getKey());
+                out.put(key, value.bind(entry.getValue(), child(path, key)));
+            }
+        } else {
+            throw invalid(path, "a section", raw);
+        }
+        return Collections.unmodifiableMap(out);
+    }
+    
+    private static Object section(final Object raw, final String path, final String key) {
+        if(raw instanceof ConfigurationSection section) {
+            return section.get(key);
+        } else if(raw instanceof Map<?, ?> map) {
+            return map.get(key);
+        }
+        throw invalid(path, "a section", raw);
+    }
+    
+    private static long integer(final Object raw, final String path, final long min, final long max) {
+        if(raw instanceof Integer || raw instanceof Long || raw instanceof Short || raw instanceof Byte) {
+            final long value = ((Number) raw).longValue();
+            if(value >= min && value <= max) {
+                return value;
+            }
+        }
+        throw invalid(path, "a whole number between " + min + " and " + max, raw);
+    }
+    
+    private static Number number(final Object raw, final String path) {
+        if(raw instanceof Number n) {
+            return n;
+        }
+        throw invalid(path, "a number", raw);
+    }
+    
+    private static Duration duration(final Object raw, final String path) {
+        if(raw instanceof Integer || raw instanceof Long) {
+            return Duration.ofSeconds(((Number) raw).longValue());
+        }
+        if(raw instanceof String string) {
+            try {
+                return DurationUtil.parse(string);
+            } catch(final IllegalArgumentException ignored) {
+                // Falls through to the error below
+            }
+        }
+        throw invalid(path, "a duration, ex. `30s` or `1h 30m`", raw);
+    }
+    
+    private static Binding enumBinding(final Class<?> cls) {
+        final Map<String, Object> constants = new HashMap<>();
+        for(final Object constant : cls.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name().toUpperCase(Locale.ROOT), constant);
+        }
+        return (raw, path) -> {
+            if(raw instanceof String string) {
+                final Object constant = constants.get(string.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+                if(constant != null) {
+                    return constant;
+                }
+            }
+            throw invalid(path, "one of " + constants.keySet(), raw);
+        };
+    }
+    
+    private static String child(final String path, final String key) {
+        return path.isEmpty() ? key : path + '.' + key;
+    }
+    
+    private static IllegalArgumentException invalid(final String path, final String expected, final Object raw) {
+        final String actual;
+        if(raw == null) {
+            actual = "nothing";
+        } else if(raw instanceof ConfigurationSection || raw instanceof Map) {
+            actual = "a section";
+        } else if(raw instanceof List) {
+            actual = "a list";
+        } else {
+            actual = '`' + raw.toString() + '`';
+        }
+        return new IllegalArgumentException("Invalid config value at `" + path + "`: expected " + expected + ", but got "
+                + actual);
+    }
+    
+    private static Key key(final Method method, final Type type) {
+        final Config annotation = method.getAnnotation(Config.class);
+        final String name = annotation != null && !annotation.value().isEmpty() ? annotation.value() : method.getName();
+        return new Key(name, binding(type, annotation != null && annotation.coloured()));
+    }
+    
+    @FunctionalInterface
+    private interface Binding {
+        /**
+         * @param raw  The raw value out of the config, or {@code null} if
+         *             there is none.
+         * @param path The full path of the value, for error messages.
+         *
+         * @return The bound value.
+         */
+        Object bind(Object raw, String path);
+    }
+    
+    private record Key(String name, Binding binding) {
+    }
+    
+    /**
+     * Binds sections to records through their canonical constructor. Keys
+     * are worked out on first use, since records can be nested within
+     * themselves (ex. through an {@link Optional}).
+     */
+    private static final class RecordBinding implements Binding {
+        private final Class<?> type;
+        private volatile Key[] keys;
+        private volatile Constructor<?> constructor;
+        
+        private RecordBinding(final Class<?> type) {
+            this.type = type;
+        }
+        
+        private void resolve() {
+            final RecordComponent[] components = type.getRecordComponents();
+            final Key[] resolved = new Key[components.length];
+            final Class<?>[] types = new Class<?>[components.length];
+            for(int i = 0; i < components.length; i++) {
+                resolved[i] = key(components[i].getAccessor(), components[i].getGenericType());
+                types[i] = components[i].getType();
+            }
+            try {
+                final Constructor<?> canonical = type.getDeclaredConstructor(types);
+                canonical.setAccessible(true);
+                constructor = canonical;
+            } catch(final NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            keys = resolved;
+        }
+        
+        @Override
+        public Object bind(final Object raw, final String path) {
+            if(keys == null) {
+                resolve();
+            }
+            final Object[] values = new Object[keys.length];
+            for(int i = 0; i < keys.length; i++) {
+                final Key key = keys[i];
+                values[i] = key.binding.bind(section(raw, path, key.name), child(path, key.name));
+            }
+            try {
+                return constructor.newInstance(values);
+            } catch(final InvocationTargetException e) {
+                throw new IllegalArgumentException("Invalid config value at `" + path + "`: "
+                        + e.getCause().getMessage(), e.getCause());
+            } catch(final InstantiationException | IllegalAccessException e) {
+                throw new IllegalStateException("Couldn't create " + type.getName(), e);
+            }
+        }
+    }
+    
+    /**
+     * Binds sections to proxies of {@link Config} interfaces.
+     */
+    private static final class InterfaceBinding implements Binding {
+        private final Class<?> type;
+        private volatile Map<Method, Key> keys;
+        private volatile Map<Method, MethodHandle> defaults;
+        
+        private InterfaceBinding(final Class<?> type) {
+            this.type = type;
+        }
+        
+        private void resolve() {
+            final Map<Method, Key> resolved = new LinkedHashMap<>();
+            final Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+            for(final Method method : type.getMethods()) {
+                if(method.isDefault()) {
+                    // Proxies can only call default methods of interfaces
+                    // that are public, so grab them with our own lookup.
+                    try {
+                        final Class<?> declaring = method.getDeclaringClass();
+                        defaultMethods.put(method, MethodHandles.privateLookupIn(declaring, MethodHandles.lookup())
+                                .unreflectSpecial(method, declaring));
+                    } catch(final IllegalAccessException e) {
+                        throw new IllegalStateException("Couldn't access default method " + type.getName() + '#'
+                                + method.getName(), e);
+                    }
+                } else if(Modifier.isAbstract(method.getModifiers())) {
+                    if(method.getParameterCount() != 0) {
+                        throw new IllegalArgumentException("@Config interface method " + type.getName() + '#'
+                                + method.getName() + " can't take parameters!");
+                    }
+                    resolved.put(method, key(method, method.getGenericReturnType()));
+                }
+            }
+            defaults = defaultMethods;
+            keys = resolved;
+        }
+        
+        @Override
+        public Object bind(final Object raw, final String path) {
+            if(keys == null) {
+                resolve();
+            }
+            final Map<Method, Object> values = new HashMap<>();
+            final StringJoiner string = new StringJoiner(", ", type.getSimpleName() + '[', "]");
+            keys.forEach((method, key) -> {
+                final Object value = key.binding.bind(section(raw, path, key.name), child(path, key.name));
+                values.put(method, value);
+                string.add(key.name + '=' + value);
+            });
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if(values.containsKey(method)) {
+                    return values.get(method);
+                } else if(defaults.containsKey(method)) {
+                    final MethodHandle handle = defaults.get(method).bindTo(proxy);
+                    return args == null ? handle.invoke() : handle.invokeWithArguments(args);
+                }
+                return switch(method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> string.toString();
+                    default -> throw new UnsupportedOperationException(method.toString());
+                };
+            });
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package gg.amy.mc.cardboard.config;
+
+import gg.amy.mc.cardboard.util.MessageUtil;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.lang.reflect.Type;
+
+/**
+ * Reads a single value out of a config section. Converters are selected once
+ * per {@link Config} field, based on the field's type, rather than on every
+ * injection.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@FunctionalInterface
+public interface ConfigConverter {
+    /**
+     * @param type     The (generic) type of the field to read into.
+     * @param coloured Whether strings should have colour codes translated.
+     * @param strict   Whether to bind the value strictly, see
+     *                 {@link Config#strict()}.
+     *
+     * @return The converter for the type. Records and {@link Config}
+     * interfaces, and anything else if {@code strict}, are bound by
+     * {@link ConfigBinder#converter(Type, boolean)}. Other types that
+     * {@link ConfigBinder#isBindable(Type)}, ex. lists of strings or enums,
+     * are bound by {@link ConfigBinder#lenientConverter(Type, boolean)}, so
+     * they're still {@code null} when missing and mutable. Anything else is
+     * read straight out of the section.
+     */
+    static ConfigConverter forType(final Type type, final boolean coloured, final boolean strict) {
+        if(strict || ConfigBinder.isSchema(type)) {
+            return ConfigBinder.converter(type, coloured);
+        } else if(ConfigBinder.isBindable(type)) {
+            return ConfigBinder.lenientConverter(type, coloured);
+        } else if(type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return ConfigurationSection::getBoolean;
+        } else if(type.equals(Double.class) || type.equals(double.class)) {
+            return ConfigurationSection::getDouble;
+        } else if(type.equals(Float.class) || type.equals(float.class)) {
+            return (config, path) -> (float) config.getDouble(path);
+        } else if(type.equals(Byte.class) || type.equals(byte.class)) {
+            return (config, path) -> (byte) config.getInt(path);
+        } else if(type.equals(Short.class) || type.equals(short.class)) {
+            return (config, path) -> (short) config.getInt(path);
+        } else if(type.equals(Integer.class) || type.equals(int.class)) {
+            return ConfigurationSection::getInt;
+        } else if(type.equals(Long.class) || type.equals(long.class)) {
+            return ConfigurationSection::getLong;
+        } else if(type.equals(String.class)) {
+            if(coloured) {
+                return (config, path) -> {
+                    final String string = config.getString(path);
+                    return string != null ? MessageUtil.colour(string) : null;
+                };
+            } else {
+                return ConfigurationSection::getString;
+            }
+        } else {
+            return ConfigurationSection::get;
+        }
+    }
+    
+    Object read(ConfigurationSection config, String path);
+}
@@ -2,26 +2,35 @@ package gg.amy.mc.cardboard.config;
 
 import gg.amy.mc.cardboard.Cardboard;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author amy
  * @since 1/12/20.
  */
 public class ConfigFileLoader {
+    private static final String MAIN_CONFIG = "config.yml";
+    
     private final Cardboard cardboard;
-    private final Map<String, YamlConfiguration> configs = new HashMap<>();
+    private final Map<String, YamlConfiguration> configs = new ConcurrentHashMap<>();
+    private volatile FileConfiguration mainConfig;
     
     public ConfigFileLoader(final Cardboard cardboard) {
         this.cardboard = cardboard;
     }
     
     public ConfigurationSection loadFile(final String path) {
-        if(path.equalsIgnoreCase("config.yml")) {
+        if(path.equalsIgnoreCase(MAIN_CONFIG)) {
             return cardboard.getConfig();
         }
         return configs.computeIfAbsent(path, __ -> {
@@ -29,4 +38,66 @@ public class ConfigFileLoader {
             return YamlConfiguration.loadConfiguration(file);
         });
     }
+    
+    /**
+     * Re-reads a file from disk, without replacing the cached copy of it
+     * yet. Unlike {@link #loadFile(String)}, a file that can't be parsed is
+     * an error rather than an empty config, so that a half-written file
+     * doesn't wipe out every value read from it. Safe to call off the main
+     * thread.
+     *
+     * @param path The path of the file, relative to the data folder.
+     *
+     * @return The freshly-read config, to hand to {@link #publish(String, YamlConfiguration)}.
+     *
+     * @throws IOException                   If the file couldn't be read.
+     * @throws InvalidConfigurationException If the file isn't valid YAML.
+     */
+    public YamlConfiguration reload(final String path) throws IOException, InvalidConfigurationException {
+        final YamlConfiguration config = new YamlConfiguration();
+        config.load(new File(cardboard.getDataFolder(), path));
+        if(path.equalsIgnoreCase(MAIN_CONFIG)) {
+            // Same as JavaPlugin#reloadConfig, which isn't safe to call off
+            // the main thread.
+            final InputStream defaults = cardboard.getResource(MAIN_CONFIG);
+            if(defaults != null) {
+                config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults,
+                        StandardCharsets.UTF_8)));
+            }
+        }
+        return config;
+    }
+    
+    /**
+     * Replaces the cached copy of a file with one read by
+     * {@link #reload(String)}. Should be called on the main thread, together
+     * with updating the values read from the file, so nothing sees the new
+     * file alongside old values.
+     *
+     * @param path   The path of the file, relative to the data folder.
+     * @param config The config read from the file.
+     */
+    public void publish(final String path, final YamlConfiguration config) {
+        if(path.equalsIgnoreCase(MAIN_CONFIG)) {
+            mainConfig = config;
+        } else {
+            configs.put(path, config);
+        }
+    }
+    
+    /**
+     * @return The last config.yml read by {@link #reload(String)}, or
+     * {@code null} if it hasn't been reloaded since the plugin last read it.
+     */
+    public FileConfiguration reloadedMainConfig() {
+        return mainConfig;
+    }
+    
+    /**
+     * Forgets the config.yml read by {@link #reload(String)}, ex. because the
+     * plugin has read it again itself.
+     */
+    public void clearReloadedMainConfig() {
+        mainConfig = null;
+    }
 }
@@ -0,0 +1,188 @@
+package gg.amy.mc.cardboard.config;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.di.InjectionPlan;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Watches the plugin's data folder for changes to config files, and
+ * re-injects the {@link Config} fields that read from them.
+ * <p/>
+ * Only the changed file is re-read, and that happens on the watcher's own
+ * thread. The new values are then set on the main thread, all in one go, so
+ * that nothing running on the main thread sees some fields updated and
+ * others not. Objects are tracked weakly, so watching something doesn't keep
+ * it alive.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ConfigWatcher implements Closeable {
+    /**
+     * How long to wait for more changes after the first one. Editors tend to
+     * save in several steps (truncate, write, rename...), and there's no
+     * point reloading a file for each of them.
+     */
+    private static final long DEBOUNCE_MILLIS = 100L;
+    
+    private final Cardboard cardboard;
+    private final ConfigFileLoader loader;
+    private final Path root;
+    private final WatchService service;
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private final Map<Path, List<Watched>> watched = new ConcurrentHashMap<>();
+    private final Thread thread;
+    
+    public ConfigWatcher(final Cardboard cardboard, final ConfigFileLoader loader) throws IOException {
+        this.cardboard = cardboard;
+        this.loader = loader;
+        root = cardboard.getDataFolder().toPath().toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        service = root.getFileSystem().newWatchService();
+        watchDirectory(root);
+        thread = new Thread(this::run, cardboard.getName() + "-config-watcher");
+        thread.setDaemon(true);
+    }
+    
+    public void start() {
+        thread.start();
+    }
+    
+    /**
+     * Re-injects the object's {@link Config} fields whenever a file they read
+     * from changes.
+     *
+     * @param object The object to watch.
+     * @param file   The file the object was injected from, or {@code null} if
+     *               it used the file each field asks for.
+     */
+    public void watch(final Object object, final String file) {
+        final Set<String> files = file != null ? Set.of(file)
+                : cardboard.getInjectionPlan(object.getClass()).configFiles();
+        for(final String name : files) {
+            final Path path = resolve(name);
+            watchDirectory(path.getParent());
+            final List<Watched> objects = watched.computeIfAbsent(path, __ -> new ArrayList<>());
+            synchronized(objects) {
+                objects.removeIf(w -> w.object.get() == null);
+                if(objects.stream().noneMatch(w -> w.object.get() == object)) {
+                    objects.add(new Watched(new WeakReference<>(object), file));
+                }
+            }
+        }
+    }
+    
+    private Path resolve(final String file) {
+        return root.resolve(file).normalize();
+    }
+    
+    private void watchDirectory(final Path directory) {
+        if(directory == null || !Files.isDirectory(directory) || !watchedDirectories.add(directory)) {
+            return;
+        }
+        try {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch(final IOException e) {
+            watchedDirectories.remove(directory);
+            cardboard.getLogger().log(Level.WARNING, "Couldn't watch " + directory + " for config changes", e);
+        }
+    }
+    
+    private void run() {
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                final Set<Path> changed = new LinkedHashSet<>();
+                collect(service.take(), changed);
+                Thread.sleep(DEBOUNCE_MILLIS);
+                WatchKey key;
+                while((key = service.poll()) != null) {
+                    collect(key, changed);
+                }
+                changed.forEach(this::reload);
+            }
+        } catch(final InterruptedException | ClosedWatchServiceException ignored) {
+            // Shutting down
+        }
+    }
+    
+    private void collect(final WatchKey key, final Set<Path> changed) {
+        final Path directory = (Path) key.watchable();
+        for(final WatchEvent<?> event : key.pollEvents()) {
+            if(event.context() instanceof Path name) {
+                final Path path = directory.resolve(name).normalize();
+                if(watched.containsKey(path)) {
+                    changed.add(path);
+                }
+            }
+        }
+        if(!key.reset()) {
+            watchedDirectories.remove(directory);
+        }
+    }
+    
+    private void reload(final Path path) {
+        final String file = root.relativize(path).toString().replace(File.separatorChar, '/');
+        final YamlConfiguration config;
+        try {
+            config = loader.reload(file);
+        } catch(final IOException | InvalidConfigurationException e) {
+            cardboard.getLogger().warning("Not reloading " + file + ", as it couldn't be read: " + e.getMessage());
+            return;
+        }
+        
+        final List<Watched> objects = new ArrayList<>();
+        final List<Watched> tracked = watched.get(path);
+        synchronized(tracked) {
+            tracked.removeIf(w -> w.object.get() == null);
+            objects.addAll(tracked);
+        }
+        final List<Runnable> updates = new ArrayList<>();
+        for(final Watched w : objects) {
+            final Object object = w.object.get();
+            if(object == null) {
+                continue;
+            }
+            final InjectionPlan plan = cardboard.getInjectionPlan(object.getClass());
+            try {
+                final Runnable update = plan.prepareConfig(object, w.file, f -> resolve(f).equals(path), config);
+                if(update != null) {
+                    updates.add(update);
+                }
+            } catch(final RuntimeException e) {
+                cardboard.getLogger().log(Level.WARNING, "Couldn't reload config of " + object.getClass().getName()
+                        + " from " + file, e);
+            }
+        }
+        cardboard.mainThread().execute(() -> {
+            loader.publish(file, config);
+            updates.forEach(Runnable::run);
+            cardboard.getLogger().info("Reloaded config file " + file);
+        });
+    }
+    
+    /**
+     * Stops watching. Values that were already read are still applied.
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            service.close();
+        } catch(final IOException e) {
+            cardboard.getLogger().log(Level.WARNING, "Couldn't stop watching config files", e);
+        }
+    }
+    
+    private record Watched(WeakReference<Object> object, String file) {
+    }
+}
@@ -0,0 +1,276 @@
+package gg.amy.mc.cardboard.di;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.component.ComponentProvider;
+import gg.amy.mc.cardboard.config.Config;
+import gg.amy.mc.cardboard.config.ConfigConverter;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Everything needed to inject into instances of a single class, worked out
+ * once: the {@link Config}, {@link Auto}, and {@link BukkitPlugin} fields,
+ * setters for them, and how to get each field's value. Injecting is then
+ * just a loop over the precomputed injection points.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class InjectionPlan {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    private final Class<?> cls;
+    private final List<ConfigPoint> configPoints = new ArrayList<>();
+    private final List<AutoPoint> autoPoints = new ArrayList<>();
+    private final List<PluginPoint> pluginPoints = new ArrayList<>();
+    
+    private InjectionPlan(final Class<?> cls) {
+        this.cls = cls;
+    }
+    
+    /**
+     * Builds the plan for the given class. This is the only place that
+     * reflects over the class' fields; callers should cache the result, once
+     * per plugin, since the plan caches the providers of {@link Auto}
+     * fields' components.
+     *
+     * @param cls The class to plan injection for.
+     *
+     * @return The plan.
+     */
+    public static InjectionPlan compile(final Class<?> cls) {
+        final InjectionPlan plan = new InjectionPlan(cls);
+        for(final Field field : cls.getDeclaredFields()) {
+            if(field.isAnnotationPresent(Config.class)) {
+                final Config annotation = field.getDeclaredAnnotation(Config.class);
+                plan.configPoints.add(new ConfigPoint(field.getName(), setter(field), annotation.file(), annotation.value(),
+                        ConfigConverter.forType(field.getGenericType(), annotation.coloured(),
+                                annotation.strict())));
+            }
+            if(field.isAnnotationPresent(Auto.class)) {
+                plan.autoPoints.add(new AutoPoint(field.getName(), setter(field), field.getType()));
+            }
+            if(field.isAnnotationPresent(BukkitPlugin.class)) {
+                plan.pluginPoints.add(new PluginPoint(field.getName(), setter(field),
+                        field.getDeclaredAnnotation(BukkitPlugin.class).value()));
+            }
+        }
+        return plan;
+    }
+    
+    private static MethodHandle setter(final Field field) {
+        try {
+            // With the accessible flag set, this also covers final fields, the
+            // same way Field#set would.
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectSetter(field);
+            if(Modifier.isStatic(field.getModifiers())) {
+                // Static setters don't take an instance; ignore the one we pass.
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(SETTER_TYPE);
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create a setter for " + field.getDeclaringClass().getName() + '#'
+                    + field.getName(), e);
+        }
+    }
+    
+    private static Object fromContext(final Class<?> type, final Map<Class<?>, ?> ctx) {
+        if(ctx.isEmpty()) {
+            return null;
+        }
+        final Object exact = ctx.get(type);
+        if(exact != null) {
+            return exact;
+        }
+        for(final Map.Entry<Class<?>, ?> entry : ctx.entrySet()) {
+            if(type.isAssignableFrom(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @return The types of all {@link Auto} fields.
+     */
+    public List<Class<?>> autoTypes() {
+        final List<Class<?>> types = new ArrayList<>(autoPoints.size());
+        for(final AutoPoint point : autoPoints) {
+            types.add(point.type);
+        }
+        return types;
+    }
+    
+    /**
+     * Injects all {@link Config} fields of the object.
+     *
+     * @param cardboard The plugin to load config files from.
+     * @param object    The object to inject into.
+     * @param file      The file to read all values from, or {@code null} to
+     *                  use the file each field asks for.
+     */
+    public void injectConfig(final Cardboard cardboard, final Object object, final String file) {
+        for(final ConfigPoint point : configPoints) {
+            final String source = file != null ? file : point.file;
+            set(point.setter, object, read(cardboard, point, source), point.name);
+        }
+    }
+    
+    /**
+     * @return The files that {@link Config} fields read from.
+     */
+    public Set<String> configFiles() {
+        final Set<String> files = new LinkedHashSet<>();
+        for(final ConfigPoint point : configPoints) {
+            files.add(point.file);
+        }
+        return files;
+    }
+    
+    /**
+     * Reads new values for the {@link Config} fields of the object that come
+     * from a changed file, without setting them yet. This way the values can
+     * be read off the main thread, and then all set at once on it.
+     *
+     * @param object  The object to read values for.
+     * @param file    The file the object was injected from, or {@code null}
+     *                if it used the file each field asks for.
+     * @param changed Whether a file is one that changed.
+     * @param config  The new contents of the changed file.
+     *
+     * @return A task setting the new values, or {@code null} if none of the
+     * fields read from a changed file.
+     */
+    public Runnable prepareConfig(final Object object, final String file, final Predicate<String> changed,
+                                  final ConfigurationSection config) {
+        final List<Runnable> updates = new ArrayList<>();
+        for(final ConfigPoint point : configPoints) {
+            final String source = file != null ? file : point.file;
+            if(changed.test(source)) {
+                final Object value = read(point, source, config);
+                updates.add(() -> set(point.setter, object, value, point.name));
+            }
+        }
+        if(updates.isEmpty()) {
+            return null;
+        }
+        return () -> updates.forEach(Runnable::run);
+    }
+    
+    /**
+     * Injects all {@link Auto} and {@link BukkitPlugin} fields of the object.
+     *
+     * @param cardboard The plugin to resolve plugins with and log to.
+     * @param object    The object to inject into.
+     * @param ctx       Extra values that can be injected, keyed by type.
+     */
+    public void injectComponents(final Cardboard cardboard, final Object object, final Map<Class<?>, ?> ctx) {
+        for(final AutoPoint point : autoPoints) {
+            final Object fromCtx = fromContext(point.type, ctx);
+            if(fromCtx != null) {
+                set(point.setter, object, fromCtx, point.name);
+            } else {
+                final ComponentProvider provider = point.provider(cardboard);
+                if(provider != null) {
+                    set(point.setter, object, provider.get(ctx), point.name);
+                } else {
+                    cardboard.getLogger().severe(String.format(
+                            "Couldn't inject component of type `%s` into %s#%s: no such component found!",
+                            point.type.getName(),
+                            cls.getName(),
+                            point.name
+                    ));
+                }
+            }
+        }
+        for(final PluginPoint point : pluginPoints) {
+            final Plugin plugin = cardboard.getServer().getPluginManager().getPlugin(point.plugin);
+            if(plugin == null) {
+                throw new IllegalStateException("Was asked to load plugin " + point.plugin + " for " + cls + '#'
+                        + point.name + ", but that plugin doesn't exist? Is it loaded?");
+            }
+            set(point.setter, object, plugin, point.name);
+        }
+    }
+    
+    /**
+     * Sets all {@link Auto} fields of the object back to {@code null}.
+     *
+     * @param object The object to clear.
+     */
+    public void clearComponents(final Object object) {
+        for(final AutoPoint point : autoPoints) {
+            if(!point.type.isPrimitive()) {
+                set(point.setter, object, null, point.name);
+            }
+        }
+    }
+    
+    private Object read(final Cardboard cardboard, final ConfigPoint point, final String file) {
+        return read(point, file, cardboard.loadConfig(file));
+    }
+    
+    private Object read(final ConfigPoint point, final String file, final ConfigurationSection config) {
+        try {
+            return point.converter.read(config, point.path);
+        } catch(final IllegalArgumentException e) {
+            throw new IllegalStateException("Couldn't inject " + cls.getName() + '#' + point.name + " from " + file
+                    + ": " + e.getMessage(), e);
+        }
+    }
+    
+    private void set(final MethodHandle setter, final Object object, final Object value, final String name) {
+        try {
+            setter.invokeExact(object, value);
+        } catch(final Throwable t) {
+            throw new IllegalStateException("Couldn't inject " + cls.getName() + '#' + name, t);
+        }
+    }
+    
+    private record ConfigPoint(String name, MethodHandle setter, String file, String path, ConfigConverter converter) {
+    }
+    
+    private static final class AutoPoint {
+        private final String name;
+        private final MethodHandle setter;
+        private final Class<?> type;
+        private volatile ComponentProvider provider;
+        
+        private AutoPoint(final String name, final MethodHandle setter, final Class<?> type) {
+            this.name = name;
+            this.setter = setter;
+            this.type = type;
+        }
+        
+        /**
+         * @return The provider of the field's component, or {@code null} if
+         * there isn't one. Looked up once, then cached; a missing component
+         * isn't cached, since the registry isn't built until every
+         * component has been found.
+         */
+        private ComponentProvider provider(final Cardboard cardboard) {
+            ComponentProvider local = provider;
+            if(local == null) {
+                local = cardboard.getComponentProvider(type).orElse(null);
+                provider = local;
+            }
+            return local;
+        }
+    }
+    
+    private record PluginPoint(String name, MethodHandle setter, String plugin) {
+    }
+}
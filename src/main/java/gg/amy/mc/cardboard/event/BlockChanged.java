@@ -0,0 +1,20 @@
+package gg.amy.mc.cardboard.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only calls a {@code PlayerMoveEvent} handler when the player moves into
+ * a different block, skipping the much more common events where they only
+ * turn their head or move within a block. Only valid on handlers for
+ * {@code PlayerMoveEvent} and its subclasses.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BlockChanged {
+}
@@ -0,0 +1,66 @@
+package gg.amy.mc.cardboard.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Buffers the events an {@link org.bukkit.event.EventHandler} method would
+ * get, and calls it once per key every few ticks instead, ex. once per
+ * player per tick for {@code PlayerMoveEvent}. Goes on the handler method,
+ * alongside {@link org.bukkit.event.EventHandler}, whose priority and
+ * {@code ignoreCancelled} still decide which events get buffered.
+ * <p/>
+ * A handler that takes the event, ex. {@code onMove(PlayerMoveEvent)}, is
+ * called with the latest event for each key. A handler that takes a
+ * {@link java.util.List} of the event, ex.
+ * {@code onMove(List<PlayerMoveEvent>)}, is called with every event for
+ * each key, oldest first.
+ * <p/>
+ * Coalesced handlers run after the events have already happened, so they
+ * can't cancel or change them. Anything that needs to do that should stay
+ * an ordinary handler. Handlers always run on the main thread, even for
+ * asynchronous events. Events still buffered when the plugin is disabled
+ * are dropped.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+    /**
+     * @return What to group events by. Events that don't have that kind of
+     * key, ex. an {@code EntityDamageEvent} for a zombie with
+     * {@link Key#PLAYER}, aren't coalesced with each other: they're passed
+     * to the handler one at a time on the next flush.
+     */
+    Key key() default Key.PLAYER;
+    
+    /**
+     * @return How many ticks to buffer events for between calls.
+     */
+    int ticks() default 1;
+    
+    enum Key {
+        /**
+         * The player the event is about, or who caused it, ex. the player
+         * breaking a block or clicking in an inventory.
+         */
+        PLAYER,
+        /**
+         * The entity, vehicle, or player the event is about.
+         */
+        ENTITY,
+        /**
+         * The chunk the event happened in: a block event's block, a player
+         * move's destination, or an entity or player's location.
+         */
+        CHUNK,
+        /**
+         * Every event together.
+         */
+        GLOBAL,
+    }
+}
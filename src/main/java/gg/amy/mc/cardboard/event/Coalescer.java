@@ -0,0 +1,231 @@
+package gg.amy.mc.cardboard.event;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Buffers the events for one {@link Coalesce} handler, and flushes them to
+ * it on a repeating task.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class Coalescer implements Runnable {
+    private static final Object GLOBAL = new Object();
+    /**
+     * Buffers the events that don't have a key, as a list whichever kind of
+     * handler it is. They're delivered one at a time.
+     */
+    private static final Object UNKEYED = new Object();
+    private static final MethodType BATCH_TYPE = MethodType.methodType(void.class, Listener.class, List.class);
+    
+    private final Cardboard cardboard;
+    private final Listener listener;
+    private final String name;
+    private final Class<? extends Event> eventClass;
+    private final Coalesce.Key key;
+    /**
+     * Calls a handler taking the latest event, or {@code null} for a
+     * handler taking a batch.
+     */
+    private final EventExecutors.ListenerMethod latest;
+    /**
+     * Calls a handler taking a batch, or {@code null} for a handler taking
+     * the latest event.
+     */
+    private final MethodHandle batch;
+    private final LatencyHistogram timing;
+    /**
+     * Keys mapped to their latest event, or a list of their events.
+     */
+    private final Map<Object, Object> buffer = new ConcurrentHashMap<>();
+    
+    private Coalescer(final Cardboard cardboard, final Listener listener, final Method method,
+                      final Class<? extends Event> eventClass, final Coalesce.Key key,
+                      final EventExecutors.ListenerMethod latest, final MethodHandle batch,
+                      final LatencyHistogram timing) {
+        this.cardboard = cardboard;
+        this.listener = listener;
+        name = listener.getClass().getName() + '#' + method.getName();
+        this.eventClass = eventClass;
+        this.key = key;
+        this.latest = latest;
+        this.batch = batch;
+        this.timing = timing;
+    }
+    
+    /**
+     * @param method A {@link Coalesce} handler method.
+     *
+     * @return The event it handles, or {@code null} if it doesn't take an
+     * event or a list of one.
+     */
+    static Class<? extends Event> eventClass(final Method method) {
+        if(method.getParameterCount() != 1) {
+            return null;
+        }
+        final Type type = method.getGenericParameterTypes()[0];
+        final Type event = type instanceof ParameterizedType p && p.getRawType() == List.class
+                ? p.getActualTypeArguments()[0] : type;
+        return event instanceof Class<?> cls && Event.class.isAssignableFrom(cls) ? cls.asSubclass(Event.class) : null;
+    }
+    
+    /**
+     * Creates the coalescer for a handler, and starts flushing it.
+     *
+     * @param cardboard  The plugin the listener belongs to.
+     * @param listener   The listener.
+     * @param method     The handler method.
+     * @param eventClass The event it handles, from {@link #eventClass(Method)}.
+     * @param timing     The histogram to record how long the handler takes
+     *                   in, or {@code null} to not time it.
+     *
+     * @return The executor that buffers events for it.
+     */
+    static EventExecutor start(final Cardboard cardboard, final Listener listener, final Method method,
+                               final Class<? extends Event> eventClass, final LatencyHistogram timing) {
+        final Coalesce annotation = method.getAnnotation(Coalesce.class);
+        final boolean isBatch = method.getParameterTypes()[0] == List.class;
+        final Coalescer coalescer = new Coalescer(cardboard, listener, method, eventClass, annotation.key(),
+                isBatch ? null : EventExecutors.generate(method, eventClass), isBatch ? batchHandle(method) : null,
+                timing);
+        cardboard.getServer().getScheduler().runTaskTimer(cardboard, coalescer, annotation.ticks(), annotation.ticks());
+        return (l, event) -> {
+            if(eventClass.isInstance(event)) {
+                coalescer.add(event);
+            }
+        };
+    }
+    
+    private static MethodHandle batchHandle(final Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if(Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Listener.class);
+            }
+            return handle.asType(BATCH_TYPE);
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't access event handler " + method, e);
+        }
+    }
+    
+    private void add(final Event event) {
+        final Object k = keyOf(event);
+        if(k == null) {
+            // Nothing to group it by, but it still has to wait for the main
+            // thread.
+            append(UNKEYED, event);
+        } else if(latest != null) {
+            buffer.put(k, event);
+        } else {
+            append(k, event);
+        }
+    }
+    
+    private void append(final Object k, final Event event) {
+        buffer.compute(k, (__, events) -> {
+            @SuppressWarnings("unchecked")
+            final List<Event> list = events != null ? (List<Event>) events : new ArrayList<>();
+            list.add(event);
+            return list;
+        });
+    }
+    
+    /**
+     * Flushes the buffer. Called every {@link Coalesce#ticks()} ticks.
+     */
+    @Override
+    public void run() {
+        for(final Object k : buffer.keySet()) {
+            // Removed one at a time, so that events added concurrently by
+            // asynchronous events end up in either this flush or the next.
+            final Object buffered = buffer.remove(k);
+            if(buffered == null) {
+                continue;
+            }
+            if(k == UNKEYED) {
+                for(final Object event : (List<?>) buffered) {
+                    deliver(latest != null ? event : List.of(event));
+                }
+            } else {
+                deliver(buffered);
+            }
+        }
+    }
+    
+    private void deliver(final Object buffered) {
+        final long start = timing != null ? System.nanoTime() : 0L;
+        try {
+            if(latest != null) {
+                latest.handle(listener, (Event) buffered);
+            } else {
+                batch.invokeExact(listener, (List<?>) buffered);
+            }
+        } catch(final Throwable t) {
+            cardboard.getLogger().log(Level.SEVERE, "Could not pass coalesced " + eventClass.getSimpleName() + " to "
+                    + name, t);
+        } finally {
+            if(timing != null) {
+                timing.record(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    private Object keyOf(final Event event) {
+        return switch(key) {
+            case PLAYER -> {
+                final Entity entity = EventSubjects.entityOf(event);
+                yield entity instanceof Player player ? player.getUniqueId() : null;
+            }
+            case ENTITY -> {
+                final Entity entity = EventSubjects.entityOf(event);
+                yield entity != null ? entity.getUniqueId() : null;
+            }
+            case CHUNK -> chunkOf(event);
+            case GLOBAL -> GLOBAL;
+        };
+    }
+    
+    private static ChunkKey chunkOf(final Event event) {
+        if(event instanceof BlockEvent e) {
+            final Block block = e.getBlock();
+            return new ChunkKey(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4);
+        } else if(event instanceof PlayerMoveEvent e && e.getTo() != null) {
+            return ChunkKey.of(e.getTo());
+        }
+        final Entity entity = EventSubjects.entityOf(event);
+        return entity != null ? ChunkKey.of(entity.getLocation()) : null;
+    }
+    
+    private record ChunkKey(UUID world, int x, int z) {
+        private static ChunkKey of(final Location location) {
+            return location.getWorld() != null
+                    ? new ChunkKey(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4)
+                    : null;
+        }
+    }
+}
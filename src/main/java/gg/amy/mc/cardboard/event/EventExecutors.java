@@ -0,0 +1,141 @@
+package gg.amy.mc.cardboard.event;
+
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates {@link EventExecutor}s for {@link org.bukkit.event.EventHandler}
+ * methods. Bukkit's own executors call handlers with
+ * {@link Method#invoke(Object, Object...)}; these spin up the call with
+ * {@link LambdaMetafactory} instead, so calling a handler is an ordinary
+ * interface call. If that isn't possible (ex. static handlers, or cardboard
+ * not being able to get full access to the listener class), this falls back
+ * to a {@link MethodHandle}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class EventExecutors {
+    private static final Logger LOGGER = Logger.getLogger(EventExecutors.class.getName());
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Listener.class, Event.class);
+    
+    private EventExecutors() {
+    }
+    
+    /**
+     * @param method     The handler method.
+     * @param eventClass The event it handles. Handlers for a superclass of
+     *                   an event get called for its subclasses too, so
+     *                   anything else is ignored.
+     * @param timing     The histogram to record how long the handler takes
+     *                   in, or {@code null} to not time it.
+     *
+     * @return An executor calling the method. Anything the handler throws is
+     * wrapped in an {@link EventException}, like Bukkit does.
+     */
+    public static EventExecutor create(final Method method, final Class<? extends Event> eventClass,
+                                       final LatencyHistogram timing) {
+        final ListenerMethod handler = generate(method, eventClass);
+        if(timing == null) {
+            return (listener, event) -> {
+                if(!eventClass.isInstance(event)) {
+                    return;
+                }
+                try {
+                    handler.handle(listener, event);
+                } catch(final Throwable t) {
+                    throw new EventException(t);
+                }
+            };
+        }
+        return (listener, event) -> {
+            if(!eventClass.isInstance(event)) {
+                return;
+            }
+            final long start = System.nanoTime();
+            try {
+                handler.handle(listener, event);
+            } catch(final Throwable t) {
+                throw new EventException(t);
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        };
+    }
+    
+    /**
+     * @param method     The handler method.
+     * @param eventClass The event it handles.
+     *
+     * @return A generated call to the method. It doesn't check the event's
+     * type.
+     */
+    public static ListenerMethod generate(final Method method, final Class<? extends Event> eventClass) {
+        final Class<?> src = method.getDeclaringClass();
+        if(!Modifier.isStatic(method.getModifiers())) {
+            final CallSite site;
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(src, MethodHandles.lookup());
+                final MethodHandle impl = lookup.unreflect(method);
+                site = LambdaMetafactory.metafactory(lookup, "handle", MethodType.methodType(ListenerMethod.class),
+                        HANDLER_TYPE, impl, MethodType.methodType(void.class, src, eventClass));
+            } catch(final ReflectiveOperationException | LambdaConversionException | IllegalArgumentException
+                    | SecurityException | LinkageError e) {
+                LOGGER.log(Level.FINE, "Couldn't generate an executor for " + src.getName() + '#' + method.getName()
+                        + ", falling back to a method handle", e);
+                return fallback(method);
+            }
+            try {
+                return (ListenerMethod) site.getTarget().invoke();
+            } catch(final Throwable t) {
+                throw new IllegalStateException("Couldn't create an executor for " + src.getName() + '#'
+                        + method.getName(), t);
+            }
+        }
+        return fallback(method);
+    }
+    
+    private static ListenerMethod fallback(final Method method) {
+        final MethodHandle exact;
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if(Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Listener.class);
+            }
+            exact = handle.asType(HANDLER_TYPE);
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create an executor for " + method.getDeclaringClass().getName()
+                    + '#' + method.getName(), e);
+        }
+        return (listener, event) -> {
+            try {
+                exact.invokeExact(listener, event);
+            } catch(final Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(final Throwable t) throws E {
+        throw (E) t;
+    }
+    
+    /**
+     * Calls an event handler method.
+     */
+    @FunctionalInterface
+    public interface ListenerMethod {
+        void handle(Listener listener, Event event);
+    }
+}
@@ -0,0 +1,108 @@
+package gg.amy.mc.cardboard.event;
+
+import gg.amy.mc.cardboard.Cardboard;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the filter annotations on an {@link org.bukkit.event.EventHandler}
+ * method, ex. {@link PlayerOnly} and {@link InWorld}, into one predicate that
+ * runs before the handler. The checks run cheapest first, so most events a
+ * handler doesn't care about are thrown out by an {@code instanceof} or a
+ * few comparisons, without calling into the server.
+ * <p/>
+ * {@link org.bukkit.event.EventHandler#ignoreCancelled()} isn't part of the
+ * chain, since Bukkit already checks it before calling the executor.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class EventFilters {
+    private EventFilters() {
+    }
+    
+    /**
+     * @param cardboard  The plugin the listener belongs to.
+     * @param method     The handler method.
+     * @param eventClass The event it handles.
+     *
+     * @return The predicate events have to pass for the handler to be
+     * called, or {@code null} if the method doesn't have any filters.
+     *
+     * @throws IllegalArgumentException If a filter doesn't work with the
+     *                                  event, ex. {@link BlockChanged} on a
+     *                                  {@code BlockBreakEvent} handler.
+     */
+    static Predicate<Event> compile(final Cardboard cardboard, final Method method,
+                                    final Class<? extends Event> eventClass) {
+        final List<Filter> filters = new ArrayList<>();
+        if(method.isAnnotationPresent(PlayerOnly.class)) {
+            filters.add(new Filter(0, event -> EventSubjects.entityOf(event) instanceof Player));
+        }
+        if(method.isAnnotationPresent(BlockChanged.class)) {
+            if(!PlayerMoveEvent.class.isAssignableFrom(eventClass)) {
+                throw new IllegalArgumentException("@BlockChanged only works on PlayerMoveEvent handlers, not "
+                        + eventClass.getSimpleName());
+            }
+            filters.add(new Filter(1, event -> event instanceof PlayerMoveEvent e && blockChanged(e)));
+        }
+        final InWorld inWorld = method.getAnnotation(InWorld.class);
+        if(inWorld != null) {
+            filters.add(new Filter(2, worlds(inWorld.value())));
+        }
+        final HasPermission hasPermission = method.getAnnotation(HasPermission.class);
+        if(hasPermission != null) {
+            final String permission = hasPermission.value();
+            filters.add(new Filter(3, event -> EventSubjects.entityOf(event) instanceof Player player
+                    && cardboard.hasPermission(player, permission)));
+        }
+        return filters.stream()
+                .sorted(Comparator.comparingInt(Filter::cost))
+                .map(Filter::predicate)
+                .reduce(Predicate::and)
+                .orElse(null);
+    }
+    
+    private static Predicate<Event> worlds(final String[] names) {
+        if(names.length == 1) {
+            final String name = names[0];
+            return event -> {
+                final World world = EventSubjects.worldOf(event);
+                return world != null && world.getName().equals(name);
+            };
+        }
+        final Set<String> set = Set.copyOf(List.of(names));
+        return event -> {
+            final World world = EventSubjects.worldOf(event);
+            return world != null && set.contains(world.getName());
+        };
+    }
+    
+    private static boolean blockChanged(final PlayerMoveEvent event) {
+        final Location from = event.getFrom();
+        final Location to = event.getTo();
+        if(to == null) {
+            return false;
+        }
+        return from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY()
+                || from.getBlockZ() != to.getBlockZ() || from.getWorld() != to.getWorld();
+    }
+    
+    /**
+     * @param cost      Roughly how expensive the check is. Cheaper checks
+     *                  run first.
+     * @param predicate The check.
+     */
+    private record Filter(int cost, Predicate<Event> predicate) {
+    }
+}
@@ -0,0 +1,60 @@
+package gg.amy.mc.cardboard.event;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.inventory.InventoryInteractEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.vehicle.VehicleEvent;
+import org.bukkit.event.world.WorldEvent;
+
+/**
+ * Works out who and where an event is about, for {@link Coalesce} keys and
+ * listener filters.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class EventSubjects {
+    private EventSubjects() {
+    }
+    
+    /**
+     * @return The entity the event is about or was caused by, ex. the player
+     * breaking a block, or {@code null} if there isn't one.
+     */
+    static Entity entityOf(final Event event) {
+        if(event instanceof PlayerEvent e) {
+            return e.getPlayer();
+        } else if(event instanceof EntityEvent e) {
+            return e.getEntity();
+        } else if(event instanceof InventoryInteractEvent e) {
+            return e.getWhoClicked();
+        } else if(event instanceof BlockBreakEvent e) {
+            return e.getPlayer();
+        } else if(event instanceof BlockPlaceEvent e) {
+            return e.getPlayer();
+        } else if(event instanceof VehicleEvent e) {
+            return e.getVehicle();
+        }
+        return null;
+    }
+    
+    /**
+     * @return The world the event happened in, or {@code null} if it isn't
+     * in one.
+     */
+    static World worldOf(final Event event) {
+        if(event instanceof WorldEvent e) {
+            return e.getWorld();
+        } else if(event instanceof BlockEvent e) {
+            return e.getBlock().getWorld();
+        }
+        final Entity entity = entityOf(event);
+        return entity != null ? entity.getWorld() : null;
+    }
+}
@@ -0,0 +1,27 @@
+package gg.amy.mc.cardboard.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only calls an {@link org.bukkit.event.EventHandler} method for events
+ * about or caused by a player, ex. a {@code PlayerInteractEvent}, that has
+ * the given permission or is op. Permissions are checked through
+ * {@link gg.amy.mc.cardboard.Cardboard#hasPermission(org.bukkit.command.CommandSender, String)},
+ * so they're cached if
+ * {@link gg.amy.mc.cardboard.CardboardOptions#cachePermissions()} is
+ * enabled.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HasPermission {
+    /**
+     * @return The permission node.
+     */
+    String value();
+}
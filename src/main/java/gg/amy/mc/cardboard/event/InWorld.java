@@ -0,0 +1,24 @@
+package gg.amy.mc.cardboard.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only calls an {@link org.bukkit.event.EventHandler} method for events
+ * that happen in one of the given worlds. The world is the world of a world
+ * event, the block of a block event, or the entity or player the event is
+ * about. Events that aren't in a world are skipped.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InWorld {
+    /**
+     * @return The names of the worlds.
+     */
+    String[] value();
+}
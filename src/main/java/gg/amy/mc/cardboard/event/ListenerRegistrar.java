@@ -0,0 +1,83 @@
+package gg.amy.mc.cardboard.event;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import gg.amy.mc.cardboard.metrics.Metrics;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Registers a listener's {@link EventHandler} methods the same way
+ * {@link org.bukkit.plugin.PluginManager#registerEvents(Listener, org.bukkit.plugin.Plugin)}
+ * does, except that handlers are called through {@link EventExecutors}
+ * rather than reflection, and, with metrics enabled, record how long they
+ * take in a {@link LatencyHistogram}. {@link Coalesce} handlers are
+ * registered with an executor that buffers their events instead. Filters
+ * like {@link PlayerOnly} are checked before either.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ListenerRegistrar {
+    private ListenerRegistrar() {
+    }
+    
+    /**
+     * @param cardboard The plugin registering the listener.
+     * @param listener  The listener.
+     * @param metrics   The metrics to record handler timings in, or
+     *                  {@code null} if metrics are disabled.
+     */
+    public static void register(final Cardboard cardboard, final Listener listener, final Metrics metrics) {
+        final Set<Method> methods = new HashSet<>(List.of(listener.getClass().getMethods()));
+        methods.addAll(List.of(listener.getClass().getDeclaredMethods()));
+        for(final Method method : methods) {
+            final EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if(annotation == null || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            final Coalesce coalesce = method.getAnnotation(Coalesce.class);
+            final Class<? extends Event> eventClass = coalesce != null ? Coalescer.eventClass(method)
+                    : method.getParameterCount() == 1 && Event.class.isAssignableFrom(method.getParameterTypes()[0])
+                    ? method.getParameterTypes()[0].asSubclass(Event.class) : null;
+            if(eventClass == null) {
+                cardboard.getLogger().severe(listener.getClass().getName() + " attempted to register an invalid "
+                        + "EventHandler method signature \"" + method.toGenericString() + '"');
+                continue;
+            }
+            if(coalesce != null && coalesce.ticks() < 1) {
+                cardboard.getLogger().severe(listener.getClass().getName() + " attempted to register @Coalesce "
+                        + "handler " + method.getName() + " with less than one tick between calls");
+                continue;
+            }
+            final LatencyHistogram histogram = metrics == null ? null : metrics.histogram(Metrics.LISTENER,
+                    listener.getClass().getName() + '#' + method.getName() + '(' + eventClass.getSimpleName() + ')');
+            final Predicate<Event> filter;
+            try {
+                filter = EventFilters.compile(cardboard, method, eventClass);
+            } catch(final IllegalArgumentException e) {
+                cardboard.getLogger().severe(listener.getClass().getName() + " attempted to register EventHandler "
+                        + method.getName() + " with invalid filters: " + e.getMessage());
+                continue;
+            }
+            final EventExecutor handler = coalesce != null
+                    ? Coalescer.start(cardboard, listener, method, eventClass, histogram)
+                    : EventExecutors.create(method, eventClass, histogram);
+            final EventExecutor executor = filter == null ? handler : (l, event) -> {
+                if(filter.test(event)) {
+                    handler.execute(l, event);
+                }
+            };
+            cardboard.getServer().getPluginManager().registerEvent(eventClass, listener, annotation.priority(), executor,
+                    cardboard, annotation.ignoreCancelled());
+        }
+    }
+}
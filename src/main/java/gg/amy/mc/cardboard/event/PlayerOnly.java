@@ -0,0 +1,19 @@
+package gg.amy.mc.cardboard.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only calls an {@link org.bukkit.event.EventHandler} method for events
+ * about or caused by a player, ex. an {@code EntityDamageEvent} where the
+ * entity is a player, or a {@code BlockBreakEvent}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PlayerOnly {
+}
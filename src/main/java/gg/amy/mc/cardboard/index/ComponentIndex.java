@@ -0,0 +1,189 @@
+package gg.amy.mc.cardboard.index;
+
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.component.Component;
+import gg.amy.mc.cardboard.component.Single;
+import io.github.classgraph.AnnotationClassRef;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import org.bukkit.event.Listener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The set of classes cardboard cares about in a plugin: components, the
+ * dependency edges between {@link Single} components, commands, and Bukkit
+ * listeners.
+ * <p/>
+ * Normally this is read from {@link #LOCATION}, which is written into the
+ * plugin jar at compile time by {@link ComponentIndexProcessor}. If a plugin
+ * was built without the processor, the index can instead be built from a
+ * ClassGraph scan via {@link #fromScan(ScanResult)}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ComponentIndex {
+    public static final String LOCATION = "META-INF/cardboard/components.idx";
+    
+    static final String COMPONENT = "component";
+    static final String SINGLE = "single";
+    static final String COMMAND = "command";
+    static final String LISTENER = "listener";
+    
+    private final Set<String> components = new LinkedHashSet<>();
+    private final Map<String, List<String>> singles = new LinkedHashMap<>();
+    private final Set<String> commands = new LinkedHashSet<>();
+    private final Set<String> listeners = new LinkedHashSet<>();
+    
+    private ComponentIndex() {
+    }
+    
+    /**
+     * Reads the compile-time index out of the given classloader.
+     *
+     * @param loader The classloader of the plugin.
+     * @param pkg    The package to restrict the index to. Subpackages are
+     *               included.
+     *
+     * @return The index, or an empty optional if the plugin was not built
+     * with the index processor.
+     */
+    public static Optional<ComponentIndex> read(final ClassLoader loader, final String pkg) {
+        final URL url = loader.getResource(LOCATION);
+        if(url == null) {
+            return Optional.empty();
+        }
+        final ComponentIndex index = new ComponentIndex();
+        try(final InputStream in = url.openStream();
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                final Entry entry = Entry.parse(line);
+                if(entry != null && inPackage(entry.name(), pkg)) {
+                    index.add(entry);
+                }
+            }
+        } catch(final IOException e) {
+            throw new UncheckedIOException("Couldn't read component index " + url, e);
+        }
+        return Optional.of(index);
+    }
+    
+    /**
+     * Builds an index from a ClassGraph scan. The scan must have class and
+     * annotation info enabled.
+     *
+     * @param scan The scan result.
+     *
+     * @return The index.
+     */
+    public static ComponentIndex fromScan(final ScanResult scan) {
+        final ComponentIndex index = new ComponentIndex();
+        for(final ClassInfo info : scan.getClassesWithAnnotation(Component.class.getName())) {
+            index.components.add(info.getName());
+            final AnnotationInfo single = info.getAnnotationInfo(Single.class.getName());
+            if(single != null) {
+                final List<String> deps = new ArrayList<>();
+                final Object value = single.getParameterValues().getValue("value");
+                if(value instanceof Object[] refs) {
+                    for(final Object ref : refs) {
+                        deps.add(((AnnotationClassRef) ref).getName());
+                    }
+                }
+                index.singles.put(info.getName(), deps);
+            }
+        }
+        index.listeners.addAll(scan.getClassesImplementing(Listener.class.getName()).getNames());
+        index.commands.addAll(scan.getClassesWithAnnotation(Command.class.getName()).getNames());
+        return index;
+    }
+    
+    private static boolean inPackage(final String name, final String pkg) {
+        return pkg.isEmpty() || name.startsWith(pkg + '.');
+    }
+    
+    private void add(final Entry entry) {
+        switch(entry.kind()) {
+            case COMPONENT -> components.add(entry.name());
+            case SINGLE -> {
+                components.add(entry.name());
+                singles.put(entry.name(), entry.deps());
+            }
+            case COMMAND -> commands.add(entry.name());
+            case LISTENER -> listeners.add(entry.name());
+            default -> {
+            }
+        }
+    }
+    
+    /**
+     * @return The names of all {@link Component} classes, singletons included.
+     */
+    public Collection<String> components() {
+        return Collections.unmodifiableSet(components);
+    }
+    
+    /**
+     * @param name The name of a component class.
+     *
+     * @return Whether the component is a {@link Single} component.
+     */
+    public boolean isSingle(final String name) {
+        return singles.containsKey(name);
+    }
+    
+    /**
+     * @param name The name of a {@link Single} component class.
+     *
+     * @return The names of the components it lists as dependencies.
+     */
+    public List<String> dependencies(final String name) {
+        return singles.getOrDefault(name, List.of());
+    }
+    
+    /**
+     * @return The names of all {@link Command} classes.
+     */
+    public Collection<String> commands() {
+        return Collections.unmodifiableSet(commands);
+    }
+    
+    /**
+     * @return The names of all {@link Listener} classes.
+     */
+    public Collection<String> listeners() {
+        return Collections.unmodifiableSet(listeners);
+    }
+    
+    /**
+     * A single line of the index file, of the form
+     * {@code <kind> <binary class name> [<dependency>,<dependency>...]}.
+     */
+    record Entry(String kind, String name, List<String> deps) {
+        static Entry parse(final String line) {
+            final String trimmed = line.trim();
+            if(trimmed.isEmpty() || trimmed.startsWith("#")) {
+                return null;
+            }
+            final String[] parts = trimmed.split(" ");
+            if(parts.length < 2) {
+                return null;
+            }
+            final List<String> deps = parts.length > 2 ? List.of(parts[2].split(",")) : List.of();
+            return new Entry(parts[0], parts[1], deps);
+        }
+        
+        String format() {
+            return deps.isEmpty() ? kind + ' ' + name : kind + ' ' + name + ' ' + String.join(",", deps);
+        }
+    }
+}
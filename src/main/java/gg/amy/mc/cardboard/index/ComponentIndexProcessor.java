@@ -0,0 +1,168 @@
+package gg.amy.mc.cardboard.index;
+
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.component.Component;
+import gg.amy.mc.cardboard.component.Single;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes {@link ComponentIndex#LOCATION} into the output of any plugin that
+ * is compiled with cardboard on its classpath, so that cardboard doesn't
+ * need to scan the plugin jar at startup.
+ * <p/>
+ * Entries from a previous (incremental) compilation are kept as long as the
+ * class they refer to still exists and still qualifies.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@SupportedAnnotationTypes("*")
+public final class ComponentIndexProcessor extends AbstractProcessor {
+    private static final String LISTENER = "org.bukkit.event.Listener";
+    
+    private final Map<String, ComponentIndex.Entry> entries = new TreeMap<>();
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment env) {
+        if(env.processingOver()) {
+            write();
+        } else {
+            for(final Element element : env.getRootElements()) {
+                visit(element);
+            }
+        }
+        return false;
+    }
+    
+    private void visit(final Element element) {
+        if(element instanceof TypeElement type) {
+            index(type);
+            for(final Element enclosed : type.getEnclosedElements()) {
+                visit(enclosed);
+            }
+        }
+    }
+    
+    private void index(final TypeElement type) {
+        final String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+        // Keyed by kind as well, since a command can also be a listener etc.
+        if(type.getAnnotation(Component.class) != null) {
+            final Single single = type.getAnnotation(Single.class);
+            if(single != null) {
+                entries.put(ComponentIndex.SINGLE + ' ' + name,
+                        new ComponentIndex.Entry(ComponentIndex.SINGLE, name, dependencies(single)));
+            } else {
+                entries.put(ComponentIndex.COMPONENT + ' ' + name,
+                        new ComponentIndex.Entry(ComponentIndex.COMPONENT, name, List.of()));
+            }
+        }
+        if(type.getAnnotation(Command.class) != null) {
+            entries.put(ComponentIndex.COMMAND + ' ' + name,
+                    new ComponentIndex.Entry(ComponentIndex.COMMAND, name, List.of()));
+        }
+        if(isListener(type)) {
+            entries.put(ComponentIndex.LISTENER + ' ' + name,
+                    new ComponentIndex.Entry(ComponentIndex.LISTENER, name, List.of()));
+        }
+    }
+    
+    private List<String> dependencies(final Single single) {
+        // Accessing a Class<?>[] member at compile time always throws; the
+        // exception is how we get at the type mirrors.
+        try {
+            single.value();
+            return List.of();
+        } catch(final MirroredTypesException e) {
+            final List<String> deps = new ArrayList<>();
+            for(final TypeMirror mirror : e.getTypeMirrors()) {
+                final TypeElement dep = (TypeElement) ((DeclaredType) mirror).asElement();
+                deps.add(processingEnv.getElementUtils().getBinaryName(dep).toString());
+            }
+            return deps;
+        }
+    }
+    
+    private boolean isListener(final TypeElement type) {
+        if(type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        final TypeElement listener = processingEnv.getElementUtils().getTypeElement(LISTENER);
+        return listener != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type.asType()),
+                processingEnv.getTypeUtils().erasure(listener.asType()));
+    }
+    
+    private void write() {
+        mergePrevious();
+        try {
+            final FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try(final Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by cardboard, do not edit.\n");
+                for(final ComponentIndex.Entry entry : entries.values()) {
+                    writer.write(entry.format());
+                    writer.write('\n');
+                }
+            }
+        } catch(final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Couldn't write cardboard component index: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * On an incremental build, only the changed sources are handed to us, so
+     * carry over the entries of the previous index whose classes we didn't
+     * see this time, re-checking that they still qualify.
+     */
+    private void mergePrevious() {
+        final List<String> previous = new ArrayList<>();
+        try {
+            final FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try(final BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while((line = reader.readLine()) != null) {
+                    previous.add(line);
+                }
+            }
+        } catch(final IOException | IllegalArgumentException e) {
+            // No previous index; this is a clean build.
+            return;
+        }
+        final Set<String> seen = new HashSet<>();
+        for(final ComponentIndex.Entry entry : entries.values()) {
+            seen.add(entry.name());
+        }
+        for(final String line : previous) {
+            final ComponentIndex.Entry entry = ComponentIndex.Entry.parse(line);
+            if(entry != null && !seen.contains(entry.name())) {
+                final TypeElement type = processingEnv.getElementUtils()
+                        .getTypeElement(entry.name().replace('$', '.'));
+                if(type != null) {
+                    index(type);
+                }
+            }
+        }
+    }
+}
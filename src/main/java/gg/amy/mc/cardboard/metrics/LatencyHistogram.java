@@ -0,0 +1,159 @@
+package gg.amy.mc.cardboard.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of how long something took, in nanoseconds. Buckets are
+ * log-linear like an HDR histogram: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so percentiles are accurate to within about
+ * 12%, from single nanoseconds up to about a minute. Every bucket is a
+ * {@link LongAdder}, so recording is lock-free, doesn't allocate, and
+ * doesn't contend between threads; reading is comparatively slow, and isn't
+ * an atomic snapshot.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Anything slower than 2^36ns, about 69s, goes in the last bucket.
+     */
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    
+    LatencyHistogram() {
+        for(int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * @param nanos How long it took.
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets[index(value)].increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+    
+    private static int index(final long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if(exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        final int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+    
+    /**
+     * @return The middle of the range of values in a bucket.
+     */
+    private static long midpoint(final int index) {
+        if(index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+    
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     *
+     * @return The value at the percentile, in nanoseconds, or {@code 0} if
+     * nothing has been recorded.
+     */
+    public long percentile(final double percentile) {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if(count == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= target) {
+                return Math.min(midpoint(i), max.get());
+            }
+        }
+        return max.get();
+    }
+    
+    @Override
+    public long getCount() {
+        long count = 0;
+        for(final LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+    
+    /**
+     * @return The sum of everything recorded, in nanoseconds.
+     */
+    public long totalNanos() {
+        return total.sum();
+    }
+    
+    /**
+     * @return The slowest value recorded, in nanoseconds.
+     */
+    public long maxNanos() {
+        return max.get();
+    }
+    
+    @Override
+    public double getTotalMillis() {
+        return millis(totalNanos());
+    }
+    
+    @Override
+    public double getMeanMillis() {
+        final long count = getCount();
+        return count == 0 ? 0 : millis(totalNanos()) / count;
+    }
+    
+    @Override
+    public double getP50Millis() {
+        return millis(percentile(50));
+    }
+    
+    @Override
+    public double getP99Millis() {
+        return millis(percentile(99));
+    }
+    
+    @Override
+    public double getMaxMillis() {
+        return millis(maxNanos());
+    }
+    
+    @Override
+    public void reset() {
+        for(final LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+        max.reset();
+    }
+    
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000D;
+    }
+}
@@ -0,0 +1,23 @@
+package gg.amy.mc.cardboard.metrics;
+
+/**
+ * The JMX view of a {@link LatencyHistogram}. Times are in milliseconds.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public interface LatencyHistogramMXBean {
+    long getCount();
+    
+    double getTotalMillis();
+    
+    double getMeanMillis();
+    
+    double getP50Millis();
+    
+    double getP99Millis();
+    
+    double getMaxMillis();
+    
+    void reset();
+}
@@ -0,0 +1,120 @@
+package gg.amy.mc.cardboard.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The latency histograms of a plugin's commands, listeners, and scheduled
+ * tasks, enabled with
+ * {@link gg.amy.mc.cardboard.CardboardOptions#metrics()}. Every histogram is
+ * also registered as an MXBean named
+ * {@code gg.amy.mc.cardboard:plugin=<plugin>,type=<type>,name=<name>}, so
+ * they can be read with any JMX client.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class Metrics {
+    public static final String COMMAND = "command";
+    public static final String HANDLER = "handler";
+    public static final String LISTENER = "listener";
+    public static final String TASK = "task";
+    
+    private final String plugin;
+    private final Logger logger;
+    private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    
+    public Metrics(final String plugin, final Logger logger) {
+        this.plugin = plugin;
+        this.logger = logger;
+    }
+    
+    /**
+     * @param type The type of thing being timed, ex. {@link #COMMAND}.
+     * @param name The name of the thing being timed, ex. {@code /guild}.
+     *
+     * @return The histogram, created if it doesn't exist yet.
+     */
+    public LatencyHistogram histogram(final String type, final String name) {
+        final Key key = new Key(type, name);
+        final LatencyHistogram existing = histograms.get(key);
+        if(existing != null) {
+            return existing;
+        }
+        final LatencyHistogram created = new LatencyHistogram();
+        final LatencyHistogram raced = histograms.putIfAbsent(key, created);
+        if(raced != null) {
+            return raced;
+        }
+        try {
+            server.registerMBean(created, objectName(key));
+        } catch(final InstanceAlreadyExistsException e) {
+            // Left over from a previous enable that didn't clean up
+            try {
+                server.unregisterMBean(objectName(key));
+                server.registerMBean(created, objectName(key));
+            } catch(final JMException e2) {
+                logger.log(Level.WARNING, "Couldn't register MBean for " + type + ' ' + name, e2);
+            }
+        } catch(final JMException e) {
+            logger.log(Level.WARNING, "Couldn't register MBean for " + type + ' ' + name, e);
+        }
+        return created;
+    }
+    
+    /**
+     * @param type The type of thing being timed, ex. {@link #COMMAND}.
+     *
+     * @return The histograms of that type, by name.
+     */
+    public SortedMap<String, LatencyHistogram> histograms(final String type) {
+        final SortedMap<String, LatencyHistogram> out = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            if(key.type.equals(type)) {
+                out.put(key.name, histogram);
+            }
+        });
+        return out;
+    }
+    
+    /**
+     * Clears every histogram.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+    
+    /**
+     * Unregisters every histogram's MBean.
+     */
+    public void close() {
+        for(final Key key : histograms.keySet()) {
+            try {
+                server.unregisterMBean(objectName(key));
+            } catch(final InstanceNotFoundException ignored) {
+                // Never got registered
+            } catch(final JMException e) {
+                logger.log(Level.WARNING, "Couldn't unregister MBean for " + key.type + ' ' + key.name, e);
+            }
+        }
+    }
+    
+    private ObjectName objectName(final Key key) throws JMException {
+        return new ObjectName("gg.amy.mc.cardboard:plugin=" + ObjectName.quote(plugin) + ",type=" + key.type
+                + ",name=" + ObjectName.quote(key.name));
+    }
+    
+    private record Key(String type, String name) {
+    }
+}
@@ -0,0 +1,206 @@
+package gg.amy.mc.cardboard.metrics;
+
+import gg.amy.mc.cardboard.util.DirectedGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long a plugin took to start, enabled with
+ * {@link gg.amy.mc.cardboard.CardboardOptions#profileStartup()}. Records the
+ * time spent in each phase of {@code onLoad} and {@code onEnable}, and how
+ * long each {@link gg.amy.mc.cardboard.component.Single} component took to
+ * construct and to initialise.
+ * <p/>
+ * The critical path is the chain of dependencies with the most construction
+ * and init time in total. Even with
+ * {@link gg.amy.mc.cardboard.CardboardOptions#parallelInit()}, startup can't
+ * be faster than it, so it's the place to look for components to speed up or
+ * make load in the background.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class StartupProfile {
+    private final long origin = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<Class<?>, Long> constructed = new ConcurrentHashMap<>();
+    private final Map<Class<?>, long[]> initialised = new ConcurrentHashMap<>();
+    private DirectedGraph<Class<?>> graph = new DirectedGraph<>();
+    private List<Class<?>> order = List.of();
+    private long finished;
+    
+    /**
+     * Adds time to a phase. Phases are reported in the order they were first
+     * recorded.
+     *
+     * @param name  The phase.
+     * @param nanos How long was spent in it.
+     */
+    public synchronized void phase(final String name, final long nanos) {
+        phases.merge(name, nanos, Long::sum);
+    }
+    
+    /**
+     * @param cls   A singleton class.
+     * @param nanos How long its constructor took.
+     */
+    public void constructed(final Class<?> cls, final long nanos) {
+        constructed.put(cls, nanos);
+    }
+    
+    /**
+     * @param cls   A singleton class.
+     * @param start When it started being injected and initialised, as a
+     *              {@link System#nanoTime()}.
+     * @param end   When it was ready, as a {@link System#nanoTime()}.
+     */
+    public void initialised(final Class<?> cls, final long start, final long end) {
+        initialised.put(cls, new long[] {start - origin, end - origin});
+    }
+    
+    /**
+     * Marks startup as done.
+     *
+     * @param graph The dependency graph of the singletons.
+     * @param order The singletons, dependencies first.
+     */
+    public synchronized void finish(final DirectedGraph<Class<?>> graph, final List<Class<?>> order) {
+        this.graph = graph;
+        this.order = List.copyOf(order);
+        finished = System.nanoTime() - origin;
+    }
+    
+    private long initNanos(final Class<?> cls) {
+        final long[] span = initialised.get(cls);
+        return span != null ? span[1] - span[0] : 0L;
+    }
+    
+    private long cost(final Class<?> cls) {
+        return constructed.getOrDefault(cls, 0L) + initNanos(cls);
+    }
+    
+    /**
+     * @return The singletons on the critical path, dependencies first.
+     */
+    public synchronized List<Class<?>> criticalPath() {
+        final Map<Class<?>, Long> total = new HashMap<>();
+        final Map<Class<?>, Class<?>> via = new HashMap<>();
+        Class<?> end = null;
+        for(final Class<?> cls : order) {
+            Class<?> slowest = null;
+            for(final Class<?> dep : graph.edgesFrom(cls)) {
+                if(slowest == null || total.getOrDefault(dep, 0L) > total.getOrDefault(slowest, 0L)) {
+                    slowest = dep;
+                }
+            }
+            total.put(cls, cost(cls) + (slowest != null ? total.getOrDefault(slowest, 0L) : 0L));
+            via.put(cls, slowest);
+            if(end == null || total.get(cls) > total.get(end)) {
+                end = cls;
+            }
+        }
+        final LinkedList<Class<?>> path = new LinkedList<>();
+        for(Class<?> cls = end; cls != null; cls = via.get(cls)) {
+            path.addFirst(cls);
+        }
+        return path;
+    }
+    
+    /**
+     * @return A few lines summarising the profile, for the console.
+     */
+    public synchronized String summary() {
+        final StringBuilder out = new StringBuilder("Started in ").append(ms(finished)).append(':');
+        phases.forEach((name, nanos) -> out.append("\n  ").append(name).append(": ").append(ms(nanos)));
+        final List<Class<?>> path = criticalPath();
+        if(!path.isEmpty()) {
+            long sum = 0;
+            final StringJoiner joiner = new StringJoiner(" -> ");
+            for(final Class<?> cls : path) {
+                sum += cost(cls);
+                joiner.add(cls.getSimpleName() + " (" + ms(cost(cls)) + ')');
+            }
+            out.append("\n  critical path (").append(ms(sum)).append("): ").append(joiner);
+        }
+        return out.toString();
+    }
+    
+    /**
+     * @return The profile as JSON. Times are in milliseconds, and the
+     * {@code startMs} and {@code readyMs} of components are relative to
+     * the start of {@code onLoad}.
+     */
+    public synchronized String toJson() {
+        final StringBuilder out = new StringBuilder("{\n  \"totalMs\": ").append(millis(finished));
+        out.append(",\n  \"phases\": [");
+        final StringJoiner phaseJoiner = new StringJoiner(",\n", "\n", "\n  ");
+        phaseJoiner.setEmptyValue("");
+        phases.forEach((name, nanos) -> phaseJoiner.add("    {\"name\": " + quote(name) + ", \"ms\": " + millis(nanos)
+                + '}'));
+        out.append(phaseJoiner).append("],\n  \"components\": [");
+        final StringJoiner componentJoiner = new StringJoiner(",\n", "\n", "\n  ");
+        componentJoiner.setEmptyValue("");
+        for(final Class<?> cls : order) {
+            final StringJoiner deps = new StringJoiner(", ", "[", "]");
+            graph.edgesFrom(cls).forEach(dep -> deps.add(quote(dep.getName())));
+            final long[] span = initialised.get(cls);
+            componentJoiner.add("    {\"class\": " + quote(cls.getName())
+                    + ", \"constructMs\": " + millis(constructed.getOrDefault(cls, 0L))
+                    + ", \"initMs\": " + millis(initNanos(cls))
+                    + (span != null ? ", \"startMs\": " + millis(span[0]) + ", \"readyMs\": " + millis(span[1]) : "")
+                    + ", \"dependencies\": " + deps + '}');
+        }
+        out.append(componentJoiner).append("],\n  \"criticalPath\": ");
+        final StringJoiner path = new StringJoiner(", ", "[", "]");
+        criticalPath().forEach(cls -> path.add(quote(cls.getName())));
+        return out.append(path).append("\n}\n").toString();
+    }
+    
+    /**
+     * @return The dependency graph as Graphviz DOT, with each component
+     * labelled with its timings and the critical path in red. Edges point
+     * from a component to its dependencies.
+     */
+    public synchronized String toDot() {
+        final List<Class<?>> path = criticalPath();
+        final Set<Class<?>> critical = new HashSet<>(path);
+        // Each component on the path mapped to its dependency on the path
+        final Map<Class<?>, Class<?>> criticalEdges = new HashMap<>();
+        for(int i = 1; i < path.size(); i++) {
+            criticalEdges.put(path.get(i), path.get(i - 1));
+        }
+        final StringBuilder out = new StringBuilder("digraph startup {\n  rankdir=BT;\n  node [shape=box];\n");
+        for(final Class<?> cls : order) {
+            out.append("  ").append(quote(cls.getName())).append(" [label=")
+                    .append(dotLabel(cls.getSimpleName() + "\\nconstruct " + ms(constructed.getOrDefault(cls, 0L))
+                            + "\\ninit " + ms(initNanos(cls))))
+                    .append(critical.contains(cls) ? ", color=red, penwidth=2" : "").append("];\n");
+        }
+        for(final Class<?> cls : order) {
+            for(final Class<?> dep : graph.edgesFrom(cls)) {
+                out.append("  ").append(quote(cls.getName())).append(" -> ").append(quote(dep.getName()))
+                        .append(dep.equals(criticalEdges.get(cls)) ? " [color=red, penwidth=2]" : "")
+                        .append(";\n");
+            }
+        }
+        return out.append("}\n").toString();
+    }
+    
+    private static String ms(final long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000D);
+    }
+    
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000D);
+    }
+    
+    private static String quote(final String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+    
+    private static String dotLabel(final String s) {
+        // Unlike quote, leaves \n line breaks alone
+        return '"' + s.replace("\"", "\\\"") + '"';
+    }
+}
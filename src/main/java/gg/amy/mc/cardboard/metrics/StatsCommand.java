@@ -0,0 +1,79 @@
+package gg.amy.mc.cardboard.metrics;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.command.Command;
+import gg.amy.mc.cardboard.command.CommandContext;
+import gg.amy.mc.cardboard.command.CommandScope;
+import gg.amy.mc.cardboard.command.Subcommand;
+import gg.amy.mc.cardboard.di.Auto;
+import gg.amy.mc.cardboard.util.MessageUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@code /cardboard stats}, registered when
+ * {@link gg.amy.mc.cardboard.CardboardOptions#metrics()} is enabled. Shows
+ * the commands, handlers, and listeners that have taken the most time in
+ * total. With more than one cardboard plugin on a server, the others are
+ * available as {@code /<plugin>:cardboard}.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Command(name = "cardboard", desc = "Shows how long commands and listeners take.", usage = "/cardboard stats [filter]",
+        permissionNode = "cardboard.stats", scope = CommandScope.SINGLETON)
+public final class StatsCommand {
+    private static final int LIMIT = 10;
+    
+    @Auto
+    private Cardboard cardboard;
+    
+    @Subcommand(value = "stats", desc = "Shows how long commands and listeners take.",
+            usage = "/cardboard stats [filter]", permissionNode = "cardboard.stats")
+    public void stats(final CommandContext ctx, final Optional<String> filter) {
+        final Metrics metrics = cardboard.getMetrics().orElseThrow();
+        MessageUtil.sendMessage(ctx.sender(), "&e" + cardboard.getName() + " timings"
+                + filter.map(f -> " matching '" + f + '\'').orElse("") + ':');
+        section(ctx, "Commands", metrics.histograms(Metrics.COMMAND), filter);
+        section(ctx, "Handlers", metrics.histograms(Metrics.HANDLER), filter);
+        section(ctx, "Listeners", metrics.histograms(Metrics.LISTENER), filter);
+        section(ctx, "Tasks", metrics.histograms(Metrics.TASK), filter);
+    }
+    
+    @Subcommand(value = "stats reset", desc = "Clears the timings.", usage = "/cardboard stats reset",
+            permissionNode = "cardboard.stats.reset")
+    public void reset(final CommandContext ctx) {
+        cardboard.getMetrics().orElseThrow().reset();
+        MessageUtil.sendMessage(ctx.sender(), "&aCleared " + cardboard.getName() + "'s timings.");
+    }
+    
+    private static void section(final CommandContext ctx, final String title,
+                                final Map<String, LatencyHistogram> histograms, final Optional<String> filter) {
+        final String needle = filter.map(f -> f.toLowerCase(Locale.ROOT)).orElse(null);
+        final List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>();
+        for(final Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            if(entry.getValue().getCount() > 0
+                    && (needle == null || entry.getKey().toLowerCase(Locale.ROOT).contains(needle))) {
+                entries.add(entry);
+            }
+        }
+        if(entries.isEmpty()) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().totalNanos())
+                .reversed());
+        MessageUtil.sendMessage(ctx.sender(), "&6" + title + " &7(by total time)");
+        for(final Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(LIMIT, entries.size()))) {
+            final LatencyHistogram histogram = entry.getValue();
+            MessageUtil.sendMessage(ctx.sender(), String.format(Locale.ROOT,
+                    "&f%s &7x%d total &f%.1fms &7mean &f%.2fms &7p99 &f%.2fms &7max &f%.2fms", entry.getKey(),
+                    histogram.getCount(), histogram.getTotalMillis(), histogram.getMeanMillis(),
+                    histogram.getP99Millis(), histogram.getMaxMillis()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package gg.amy.mc.cardboard.schedule;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Reports a task going over the tick budget. The first overrun is logged
+ * right away, and after that at most once a minute, with how many there
+ * were in between, so a task that's always slow doesn't flood the console.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+final class Overruns {
+    private static final long INTERVAL = 60_000_000_000L;
+    
+    private final Logger logger;
+    private final String task;
+    private final long budget;
+    private long lastLogged;
+    private int unlogged;
+    
+    Overruns(final Logger logger, final String task, final long budget) {
+        this.logger = logger;
+        this.task = task;
+        this.budget = budget;
+    }
+    
+    /**
+     * @param nanos How long one run of the task took.
+     * @param now   The current {@link System#nanoTime()}.
+     */
+    synchronized void check(final long nanos, final long now) {
+        if(nanos <= budget) {
+            return;
+        }
+        unlogged++;
+        if(lastLogged == 0 || now - lastLogged >= INTERVAL) {
+            logger.warning(String.format(Locale.ROOT, "%s took %.1fms, over the %.1fms tick budget%s", task,
+                    nanos / 1_000_000D, budget / 1_000_000D, unlogged > 1 ? " (" + unlogged + " times since the "
+                            + "last warning)" : ""));
+            lastLogged = now;
+            unlogged = 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package gg.amy.mc.cardboard.schedule;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a method of a {@link gg.amy.mc.cardboard.component.Single} component,
+ * or of the plugin class, on a repeating task, ex.
+ * {@code @Scheduled(every = "5m") public void saveAll()}. The method must
+ * not take any parameters. Methods inherited from a superclass are run too,
+ * unless they're overridden, in which case only the override's annotation
+ * counts. Tasks start once the component is ready, and are
+ * cancelled by Bukkit when the plugin is disabled.
+ * <p/>
+ * Durations are rounded down to whole ticks of 50ms. Main thread runs that
+ * take longer than {@link gg.amy.mc.cardboard.CardboardOptions#tickBudget()}
+ * are logged; work that can't be made that quick should be split up with a
+ * {@link WorkQueue} instead.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scheduled {
+    /**
+     * @return How often to run, ex. {@code 30s} or {@code 5m}. At least one
+     * tick.
+     */
+    String every();
+    
+    /**
+     * @return How long to wait before the first run. Defaults to waiting
+     * {@link #every()}. Optional.
+     */
+    String delay() default "";
+    
+    /**
+     * @return Whether to run off the main thread. Asynchronous tasks must not
+     * touch most of the Bukkit API. Optional.
+     */
+    boolean async() default false;
+}
@@ -0,0 +1,126 @@
+package gg.amy.mc.cardboard.schedule;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import gg.amy.mc.cardboard.metrics.Metrics;
+import gg.amy.mc.cardboard.util.DurationUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Starts the {@link Scheduled} methods of an object.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class ScheduledTasks {
+    private static final long TICK_MILLIS = 50L;
+    private static final MethodType TASK_TYPE = MethodType.methodType(void.class);
+    
+    private ScheduledTasks() {
+    }
+    
+    /**
+     * @param cardboard The plugin to schedule the tasks for.
+     * @param instance  The object whose {@link Scheduled} methods to run,
+     *                  including ones it inherits.
+     */
+    public static void schedule(final Cardboard cardboard, final Object instance) {
+        // Names of methods declared further down, which override the ones
+        // of the same name further up.
+        final Set<String> overridden = new HashSet<>();
+        for(Class<?> cls = instance.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for(final Method method : cls.getDeclaredMethods()) {
+                if(method.isBridge()) {
+                    continue;
+                }
+                final int modifiers = method.getModifiers();
+                final boolean isOverridden = method.getParameterCount() == 0 && !Modifier.isPrivate(modifiers)
+                        && !Modifier.isStatic(modifiers) && !overridden.add(method.getName());
+                if(!isOverridden) {
+                    schedule(cardboard, instance, method);
+                }
+            }
+        }
+    }
+    
+    private static void schedule(final Cardboard cardboard, final Object instance, final Method method) {
+        final Scheduled annotation = method.getAnnotation(Scheduled.class);
+        if(annotation == null) {
+            return;
+        }
+        final String name = method.getDeclaringClass().getName() + '#' + method.getName();
+        if(method.getParameterCount() != 0) {
+            cardboard.getLogger().severe("@Scheduled method " + name + " must not take any parameters!");
+            return;
+        }
+        final long period;
+        final long delay;
+        try {
+            period = ticks(DurationUtil.parse(annotation.every()));
+            delay = annotation.delay().isEmpty() ? period : ticks(DurationUtil.parse(annotation.delay()));
+        } catch(final IllegalArgumentException e) {
+            cardboard.getLogger().severe("@Scheduled method " + name + " has an invalid duration: "
+                    + e.getMessage());
+            return;
+        }
+        if(period < 1) {
+            cardboard.getLogger().severe("@Scheduled method " + name + " must run at most once a tick!");
+            return;
+        }
+        final Runnable task = task(cardboard, instance, method, name, annotation.async());
+        if(annotation.async()) {
+            cardboard.getServer().getScheduler().runTaskTimerAsynchronously(cardboard, task, delay, period);
+        } else {
+            cardboard.getServer().getScheduler().runTaskTimer(cardboard, task, delay, period);
+        }
+    }
+    
+    private static long ticks(final Duration duration) {
+        return duration.toMillis() / TICK_MILLIS;
+    }
+    
+    private static Runnable task(final Cardboard cardboard, final Object instance, final Method method,
+                                 final String name, final boolean async) {
+        final MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            final MethodHandle unbound = MethodHandles.lookup().unreflect(method);
+            handle = (Modifier.isStatic(method.getModifiers()) ? unbound : unbound.bindTo(instance))
+                    .asType(TASK_TYPE);
+        } catch(final IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't access @Scheduled method " + name, e);
+        }
+        final LatencyHistogram histogram = cardboard.getMetrics()
+                .map(metrics -> metrics.histogram(Metrics.TASK, name))
+                .orElse(null);
+        // Asynchronous tasks don't hold up the tick, however long they take.
+        final Overruns overruns = async ? null
+                : new Overruns(cardboard.getLogger(), "@Scheduled method " + name,
+                cardboard.getWorkQueue().budget().toNanos());
+        return () -> {
+            final long start = System.nanoTime();
+            try {
+                handle.invokeExact();
+            } catch(final Throwable t) {
+                cardboard.getLogger().log(Level.SEVERE, "@Scheduled method " + name + " failed", t);
+            } finally {
+                final long end = System.nanoTime();
+                if(histogram != null) {
+                    histogram.record(end - start);
+                }
+                if(overruns != null) {
+                    overruns.check(end - start, end);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,243 @@
+package gg.amy.mc.cardboard.schedule;
+
+import gg.amy.mc.cardboard.Cardboard;
+import gg.amy.mc.cardboard.metrics.LatencyHistogram;
+import gg.amy.mc.cardboard.metrics.Metrics;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Spreads large jobs on the main thread, ex. bulk block edits or
+ * recalculating a leaderboard, over as many ticks as they need. Every tick,
+ * jobs take turns doing a step of work each until
+ * {@link gg.amy.mc.cardboard.CardboardOptions#tickBudget()} is used up, and
+ * carry on from where they left off next tick. A step that goes over the
+ * budget on its own is logged, since it means the job's steps are too big.
+ * <p/>
+ * Every plugin has one queue, available to {@link gg.amy.mc.cardboard.di.Auto}
+ * like any other {@link gg.amy.mc.cardboard.component.Single} component, or
+ * from {@link Cardboard#getWorkQueue()}. Jobs can be submitted from any
+ * thread, but always run on the main thread. The queue only runs a task
+ * while it has work. Once the plugin is disabled, jobs are cancelled as
+ * soon as they're submitted.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class WorkQueue {
+    private final Cardboard cardboard;
+    private final long budget;
+    /**
+     * Jobs that have been submitted, but haven't been picked up by a tick
+     * yet.
+     */
+    private final Queue<Entry> submitted = new ConcurrentLinkedQueue<>();
+    /**
+     * Jobs being worked through. Only touched on the main thread.
+     */
+    private final ArrayDeque<Entry> active = new ArrayDeque<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BukkitTask task;
+    private volatile boolean closed;
+    
+    /**
+     * @param cardboard The plugin to run the queue for.
+     * @param budget    How long to spend on jobs every tick.
+     */
+    public WorkQueue(final Cardboard cardboard, final Duration budget) {
+        this.cardboard = cardboard;
+        this.budget = budget.toNanos();
+    }
+    
+    /**
+     * @return How long jobs get every tick.
+     */
+    public Duration budget() {
+        return Duration.ofNanos(budget);
+    }
+    
+    /**
+     * @return How many jobs haven't finished yet. Only exact on the main
+     * thread.
+     */
+    public int pending() {
+        return submitted.size() + active.size();
+    }
+    
+    /**
+     * @param name A name for the job, for logs and metrics.
+     * @param job  The job.
+     *
+     * @return A future that completes once the job is done. It completes
+     * exceptionally if the job throws, or is cancelled if the plugin is
+     * disabled first, or already has been.
+     */
+    public CompletableFuture<Void> submit(final String name, final Job job) {
+        final Entry entry = new Entry(name, job, new CompletableFuture<>(),
+                new Overruns(cardboard.getLogger(), "Work queue job " + name + " (one step)", budget));
+        if(closed) {
+            entry.future.completeExceptionally(new CancellationException("Plugin disabled"));
+            return entry.future;
+        }
+        submitted.add(entry);
+        if(closed) {
+            // Closed while adding it, so close() may have missed it.
+            cancelSubmitted();
+        } else {
+            start();
+        }
+        return entry.future;
+    }
+    
+    /**
+     * Runs an action for every item, as many items at a time as fit in the
+     * budget.
+     *
+     * @param name   A name for the job, for logs and metrics.
+     * @param items  The items, ex. the blocks to change. They're iterated on
+     *               the main thread, a few at a time.
+     * @param action What to do with each item.
+     * @param <T>    The type of the items.
+     *
+     * @return A future that completes once every item has been processed.
+     * @see #submit(String, Job)
+     */
+    public <T> CompletableFuture<Void> forEach(final String name, final Iterable<? extends T> items,
+                                               final Consumer<? super T> action) {
+        return submit(name, new Job() {
+            private Iterator<? extends T> iterator;
+            
+            @Override
+            public boolean run() {
+                if(iterator == null) {
+                    iterator = items.iterator();
+                }
+                if(iterator.hasNext()) {
+                    action.accept(iterator.next());
+                }
+                return iterator.hasNext();
+            }
+        });
+    }
+    
+    private void start() {
+        if(!closed && running.compareAndSet(false, true)) {
+            task = cardboard.getServer().getScheduler().runTaskTimer(cardboard, this::tick, 1L, 1L);
+        }
+    }
+    
+    private void tick() {
+        for(Entry entry = submitted.poll(); entry != null; entry = submitted.poll()) {
+            active.add(entry);
+        }
+        final Metrics metrics = cardboard.getMetrics().orElse(null);
+        final long start = System.nanoTime();
+        long now = start;
+        while(!active.isEmpty() && now - start < budget) {
+            final Entry entry = active.poll();
+            final long stepStart = now;
+            boolean more;
+            try {
+                more = entry.job.run();
+            } catch(final Throwable t) {
+                cardboard.getLogger().log(Level.SEVERE, "Work queue job " + entry.name + " failed", t);
+                entry.future.completeExceptionally(t);
+                more = false;
+            }
+            now = System.nanoTime();
+            final long took = now - stepStart;
+            entry.overruns.check(took, now);
+            if(metrics != null) {
+                final LatencyHistogram histogram = entry.histogram != null ? entry.histogram
+                        : (entry.histogram = metrics.histogram(Metrics.TASK, entry.name));
+                histogram.record(took);
+            }
+            if(more) {
+                active.add(entry);
+            } else if(!entry.future.isDone()) {
+                entry.future.complete(null);
+            }
+        }
+        if(active.isEmpty() && submitted.isEmpty()) {
+            stop();
+        }
+    }
+    
+    private void stop() {
+        final BukkitTask current = task;
+        if(current != null) {
+            current.cancel();
+        }
+        task = null;
+        running.set(false);
+        // Something may have been submitted between checking and stopping.
+        if(!submitted.isEmpty()) {
+            start();
+        }
+    }
+    
+    /**
+     * Cancels every job that hasn't finished. Called when the plugin is
+     * disabled.
+     */
+    public void close() {
+        closed = true;
+        final BukkitTask current = task;
+        if(current != null) {
+            current.cancel();
+        }
+        task = null;
+        running.set(false);
+        cancelSubmitted();
+        final CancellationException cancelled = new CancellationException("Plugin disabled");
+        for(Entry entry = active.poll(); entry != null; entry = active.poll()) {
+            entry.future.completeExceptionally(cancelled);
+        }
+    }
+    
+    private void cancelSubmitted() {
+        final CancellationException cancelled = new CancellationException("Plugin disabled");
+        for(Entry entry = submitted.poll(); entry != null; entry = submitted.poll()) {
+            entry.future.completeExceptionally(cancelled);
+        }
+    }
+    
+    /**
+     * A large piece of work, split into steps that each take well under the
+     * tick budget, ex. changing one block or one chunk's worth of blocks.
+     */
+    @FunctionalInterface
+    public interface Job {
+        /**
+         * Does the next step of the job.
+         *
+         * @return Whether there's anything left to do.
+         */
+        boolean run();
+    }
+    
+    private static final class Entry {
+        private final String name;
+        private final Job job;
+        private final CompletableFuture<Void> future;
+        private final Overruns overruns;
+        private LatencyHistogram histogram;
+        
+        private Entry(final String name, final Job job, final CompletableFuture<Void> future, final Overruns overruns) {
+            this.name = name;
+            this.job = job;
+            this.future = future;
+            this.overruns = overruns;
+        }
+    }
+}
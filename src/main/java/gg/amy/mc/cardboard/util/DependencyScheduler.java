@@ -0,0 +1,67 @@
+package gg.amy.mc.cardboard.util;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Runs a task for every node of a {@link DirectedGraph}, starting each node
+ * as soon as all of the nodes it has edges to are done. Independent nodes
+ * run at the same time on the given executor.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class DependencyScheduler {
+    private DependencyScheduler() {
+    }
+    
+    /**
+     * @param graph    The graph. An edge from a to b means that a depends on
+     *                 b.
+     * @param order    The nodes of the graph, dependencies first, ex. the
+     *                 reverse of a {@link TopologicalSort}.
+     * @param executor The executor to run tasks on.
+     * @param task     The task to run for each node.
+     * @param <T>      The type of the nodes.
+     *
+     * @return A future for every node, completed once that node's task has
+     * run. If a node's task fails, so do the futures of everything that
+     * depends on it.
+     */
+    public static <T> Map<T, CompletableFuture<Void>> schedule(final DirectedGraph<T> graph, final List<T> order,
+                                                               final Executor executor, final Consumer<T> task) {
+        final Map<T, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        for(final T node : order) {
+            final Set<T> deps = graph.edgesFrom(node);
+            final CompletableFuture<?>[] depFutures = new CompletableFuture<?>[deps.size()];
+            int i = 0;
+            for(final T dep : deps) {
+                depFutures[i++] = futures.get(dep);
+            }
+            futures.put(node, CompletableFuture.allOf(depFutures).thenRunAsync(() -> task.accept(node), executor));
+        }
+        return futures;
+    }
+    
+    /**
+     * Waits for all the futures, rethrowing the first failure as-is rather
+     * than wrapped in a {@link CompletionException}.
+     *
+     * @param futures The futures to wait for.
+     */
+    public static void join(final Collection<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch(final CompletionException e) {
+            if(e.getCause() instanceof RuntimeException r) {
+                throw r;
+            } else if(e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+}
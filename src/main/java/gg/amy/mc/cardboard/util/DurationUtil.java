@@ -0,0 +1,102 @@
+package gg.amy.mc.cardboard.util;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class DurationUtil {
+    private static final Pattern PART = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)");
+    
+    private DurationUtil() {
+    }
+    
+    /**
+     * Parses a human-friendly duration, ex. {@code 30s}, {@code 1h 30m}, or
+     * {@code 1d12h}. Supported units are {@code ms}, {@code s}, {@code m},
+     * {@code h}, and {@code d}. A plain number is a number of seconds, and
+     * ISO-8601 durations (ex. {@code PT30S}) are accepted as well.
+     *
+     * @param input The duration to parse.
+     *
+     * @return The duration.
+     *
+     * @throws IllegalArgumentException If the input isn't a duration.
+     */
+    public static Duration parse(final String input) {
+        final String trimmed = input.trim().toLowerCase(Locale.ROOT);
+        if(trimmed.startsWith("p")) {
+            try {
+                return Duration.parse(trimmed);
+            } catch(final DateTimeParseException e) {
+                throw new IllegalArgumentException("Not a duration: " + input, e);
+            }
+        }
+        if(!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(trimmed));
+            } catch(final NumberFormatException e) {
+                throw new IllegalArgumentException("Not a duration: " + input, e);
+            }
+        }
+        final Matcher matcher = PART.matcher(trimmed);
+        Duration duration = Duration.ZERO;
+        int end = 0;
+        try {
+            while(matcher.find() && matcher.start() == end) {
+                final long amount = Long.parseLong(matcher.group(1));
+                duration = duration.plus(switch(matcher.group(2)) {
+                    case "ms" -> Duration.ofMillis(amount);
+                    case "s" -> Duration.ofSeconds(amount);
+                    case "m" -> Duration.ofMinutes(amount);
+                    case "h" -> Duration.ofHours(amount);
+                    default -> Duration.ofDays(amount);
+                });
+                end = matcher.end();
+                while(end < trimmed.length() && trimmed.charAt(end) == ' ') {
+                    end++;
+                }
+            }
+        } catch(final ArithmeticException | NumberFormatException e) {
+            // Too big for a Duration, or a long
+            throw new IllegalArgumentException("Not a duration: " + input, e);
+        }
+        if(end == 0 || end != trimmed.length()) {
+            throw new IllegalArgumentException("Not a duration: " + input);
+        }
+        return duration;
+    }
+    
+    /**
+     * Formats a duration for players, ex. {@code 1h 30m} or {@code 5s},
+     * rounding up to the nearest second.
+     *
+     * @param duration The duration to format.
+     *
+     * @return The formatted duration.
+     */
+    public static String format(final Duration duration) {
+        long seconds = duration.getSeconds() + (duration.getNano() > 0 ? 1 : 0);
+        if(seconds <= 0) {
+            return "0s";
+        }
+        final StringBuilder out = new StringBuilder();
+        final long[] units = {86400, 3600, 60, 1};
+        final char[] names = {'d', 'h', 'm', 's'};
+        for(int i = 0; i < units.length; i++) {
+            if(seconds >= units[i]) {
+                if(out.length() > 0) {
+                    out.append(' ');
+                }
+                out.append(seconds / units[i]).append(names[i]);
+                seconds %= units[i];
+            }
+        }
+        return out.toString();
+    }
+}
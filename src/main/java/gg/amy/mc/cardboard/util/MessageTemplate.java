@@ -0,0 +1,223 @@
+package gg.amy.mc.cardboard.util;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+
+/**
+ * A message that's parsed once and sent many times, ex. a countdown
+ * broadcast every second of a minigame. Colour codes, including hex colours
+ * like {@code &#ff8800}, are translated when the template is compiled, and
+ * named placeholders like {@code {player}} are filled in when it's rendered.
+ * A placeholder without a value is left as-is.
+ * <p/>
+ * Placeholder values are never colour translated, so players can't sneak
+ * colours into messages through their names or chat.
+ * <p/>
+ * The last rendering is cached, so sending the same values to everyone
+ * online, or a message without placeholders, only builds the string once.
+ * Templates are thread-safe.
+ *
+ * @author amy
+ * @since 10/18/26.
+ */
+public final class MessageTemplate {
+    private final String source;
+    /**
+     * The text between placeholders, already colour translated. There's one
+     * more of these than there are placeholders.
+     */
+    private final String[] literals;
+    private final String[] names;
+    private volatile Rendered last;
+    
+    private MessageTemplate(final String source, final String[] literals, final String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+    }
+    
+    /**
+     * @param template The message, with {@code &} colour codes and
+     *                 {@code {name}} placeholders. A placeholder name is
+     *                 letters, digits, {@code -}, {@code _}, and {@code .};
+     *                 braces around anything else are left alone.
+     *
+     * @return The compiled template.
+     */
+    public static MessageTemplate compile(final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while(i < template.length()) {
+            final int open = template.indexOf('{', i);
+            if(open < 0) {
+                break;
+            }
+            final int close = placeholderEnd(template, open);
+            if(close < 0) {
+                i = open + 1;
+                continue;
+            }
+            // Each literal is translated on its own, so a colour code
+            // that's cut off by a placeholder, ex. &{colour}, isn't one.
+            literals.add(MessageUtil.colour(template.substring(literalStart, open)));
+            names.add(template.substring(open + 1, close));
+            literalStart = close + 1;
+            i = close + 1;
+        }
+        literals.add(MessageUtil.colour(template.substring(literalStart)));
+        return new MessageTemplate(template, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+    
+    /**
+     * @return The index of the {@code }} closing the placeholder opened at
+     * {@code open}, or -1 if it isn't a placeholder.
+     */
+    private static int placeholderEnd(final String template, final int open) {
+        for(int i = open + 1; i < template.length(); i++) {
+            final char c = template.charAt(i);
+            if(c == '}') {
+                return i > open + 1 ? i : -1;
+            }
+            if(!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return The names of the placeholders, in the order they first appear.
+     */
+    public Set<String> placeholders() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names)));
+    }
+    
+    /**
+     * @return The message with every placeholder left as-is.
+     */
+    public String render() {
+        return names.length == 0 ? literals[0] : render(new String[names.length]);
+    }
+    
+    /**
+     * @param name  A placeholder.
+     * @param value Its value. Anything but a string is converted with
+     *              {@link String#valueOf(Object)}.
+     *
+     * @return The message, with every other placeholder left as-is.
+     */
+    public String render(final String name, final Object value) {
+        final String[] values = new String[names.length];
+        for(int i = 0; i < names.length; i++) {
+            if(names[i].equals(name)) {
+                values[i] = String.valueOf(value);
+            }
+        }
+        return render(values);
+    }
+    
+    /**
+     * @param values The placeholders' values, by name. Anything but a string
+     *               is converted with {@link String#valueOf(Object)}.
+     *
+     * @return The message.
+     */
+    public String render(final Map<String, ?> values) {
+        final String[] resolved = new String[names.length];
+        for(int i = 0; i < names.length; i++) {
+            if(values.containsKey(names[i])) {
+                resolved[i] = String.valueOf(values.get(names[i]));
+            }
+        }
+        return render(resolved);
+    }
+    
+    private String render(final String[] values) {
+        final Rendered cached = last;
+        if(cached != null && Arrays.equals(cached.values, values)) {
+            return cached.text;
+        }
+        int length = 0;
+        for(final String literal : literals) {
+            length += literal.length();
+        }
+        for(int i = 0; i < names.length; i++) {
+            length += values[i] != null ? values[i].length() : names[i].length() + 2;
+        }
+        final StringBuilder out = new StringBuilder(length);
+        for(int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            if(values[i] != null) {
+                out.append(values[i]);
+            } else {
+                out.append('{').append(names[i]).append('}');
+            }
+        }
+        final String text = out.append(literals[names.length]).toString();
+        last = new Rendered(values, text);
+        return text;
+    }
+    
+    public void send(final CommandSender target) {
+        target.sendMessage(render());
+    }
+    
+    public void send(final CommandSender target, final String name, final Object value) {
+        target.sendMessage(render(name, value));
+    }
+    
+    public void send(final CommandSender target, final Map<String, ?> values) {
+        target.sendMessage(render(values));
+    }
+    
+    /**
+     * Renders the message once and sends it to every target.
+     *
+     * @param targets The senders to send to, ex.
+     *                {@link org.bukkit.Bukkit#getOnlinePlayers()}.
+     */
+    public void broadcast(final Iterable<? extends CommandSender> targets) {
+        sendAll(targets, render());
+    }
+    
+    /**
+     * Renders the message once and sends it to every target.
+     *
+     * @param targets The senders to send to.
+     * @param name    A placeholder.
+     * @param value   Its value.
+     */
+    public void broadcast(final Iterable<? extends CommandSender> targets, final String name, final Object value) {
+        sendAll(targets, render(name, value));
+    }
+    
+    /**
+     * Renders the message once and sends it to every target.
+     *
+     * @param targets The senders to send to.
+     * @param values  The placeholders' values, by name.
+     */
+    public void broadcast(final Iterable<? extends CommandSender> targets, final Map<String, ?> values) {
+        sendAll(targets, render(values));
+    }
+    
+    private static void sendAll(final Iterable<? extends CommandSender> targets, final String message) {
+        for(final CommandSender target : targets) {
+            target.sendMessage(message);
+        }
+    }
+    
+    /**
+     * @return The template as it was before being compiled.
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+    
+    private record Rendered(String[] values, String text) {
+    }
+}
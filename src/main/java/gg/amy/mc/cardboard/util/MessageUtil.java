@@ -8,12 +8,63 @@ import org.bukkit.command.CommandSender;
  * @since 1/10/20.
  */
 public final class MessageUtil {
+    private static final char ALT_COLOUR_CHAR = '&';
+    
     private MessageUtil() {
     }
     
+    /**
+     * Sends messages, translating their colours every time. For messages
+     * that are sent more than once, use a {@link MessageTemplate}.
+     *
+     * @param target   The sender to send to.
+     * @param messages The messages.
+     */
     public static void sendMessage(final CommandSender target, final String... messages) {
         for(final String message : messages) {
-            target.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
+            target.sendMessage(colour(message));
+        }
+    }
+    
+    /**
+     * Translates {@code &} colour codes, and hex colours written as
+     * {@code &#rrggbb}.
+     *
+     * @param text The text to translate.
+     *
+     * @return The translated text.
+     */
+    public static String colour(final String text) {
+        final int first = text.indexOf(ALT_COLOUR_CHAR);
+        if(first < 0) {
+            return text;
+        }
+        if(text.indexOf("&#", first) < 0) {
+            return ChatColor.translateAlternateColorCodes(ALT_COLOUR_CHAR, text);
+        }
+        // A hex colour is COLOR_CHAR x, then COLOR_CHAR before each digit.
+        final StringBuilder out = new StringBuilder(text.length() + 16);
+        for(int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if(c == ALT_COLOUR_CHAR && i + 7 < text.length() && text.charAt(i + 1) == '#' && isHex(text, i + 2)) {
+                out.append(ChatColor.COLOR_CHAR).append('x');
+                for(int j = i + 2; j < i + 8; j++) {
+                    out.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(text.charAt(j)));
+                }
+                i += 7;
+            } else {
+                out.append(c);
+            }
+        }
+        return ChatColor.translateAlternateColorCodes(ALT_COLOUR_CHAR, out.toString());
+    }
+    
+    private static boolean isHex(final String text, final int start) {
+        for(int i = start; i < start + 6; i++) {
+            if(Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
         }
+        return true;
     }
 }